@@ -1,61 +1,81 @@
 package ru.practicum.shareit.booking.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import ru.practicum.shareit.booking.dto.BookItemRequestDTO;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.common.BaseClient;
+import ru.practicum.shareit.common.ConcurrencyLimiter;
+import ru.practicum.shareit.common.RequestCoalescer;
+import ru.practicum.shareit.common.ResponseCache;
+import ru.practicum.shareit.common.ServerEventStreams;
+import ru.practicum.shareit.common.ServerTransport;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
+    private final ServerEventStreams eventStreams;
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerTransport transport, RequestCoalescer coalescer, ResponseCache responseCache,
+                         ConcurrencyLimiter limiter, ServerEventStreams eventStreams) {
+        super(transport, coalescer, responseCache, limiter, API_PREFIX);
+        this.eventStreams = eventStreams;
     }
 
-    public ResponseEntity<Object> create(long userId, BookItemRequestDTO requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(long userId, BookItemRequestDTO requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> changeStatus(long userId, long bookingId, Boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> changeStatus(long userId, long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getSummary(long userId) {
+        return get("/summary", userId);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getOwnerSummary(long userId) {
+        return get("/owner/summary", userId);
+    }
+
+    public CompletableFuture<ResponseEntity<ResponseBodyEmitter>> subscribe(long userId, @Nullable String lastEventId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        if (lastEventId != null) {
+            headers.set("Last-Event-ID", lastEventId);
+        }
+        return eventStreams.open(API_PREFIX + "/events", headers);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getBookings(long userId, BookingState state, Integer from, Integer size, String after) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
         );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return get("?state={state}&from={from}&size={size}", userId, parameters, after);
     }
 
-    public ResponseEntity<Object> getBookingsByOwnerId(long userId, BookingState state, Integer size, Integer from) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingsByOwnerId(long userId, BookingState state, Integer size, Integer from, String after) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return get("/owner?state={state}&from={from}&size={size}", userId, parameters, after);
     }
 }
\ No newline at end of file
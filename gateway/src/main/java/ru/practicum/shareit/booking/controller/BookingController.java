@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.controller;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.dto.BookItemRequestDTO;
 import ru.practicum.shareit.booking.dto.BookingState;
@@ -22,6 +24,7 @@ import ru.practicum.shareit.exception.UnsupportedStatusException;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @Validated
 @Controller
@@ -30,48 +33,70 @@ import javax.validation.constraints.PositiveOrZero;
 public class BookingController {
     private static final Logger log = LoggerFactory.getLogger(BookingController.class);
     private static final String SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> createBookings(@RequestHeader(SHARER_USER_ID) long userId,
+    public CompletableFuture<ResponseEntity<Object>> createBookings(@RequestHeader(SHARER_USER_ID) long userId,
                                                  @Valid @RequestBody BookItemRequestDTO requestDTO) {
         log.info("Creating booking {}, userId={}", requestDTO, userId);
         return bookingClient.create(userId, requestDTO);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> changeStatus(@RequestHeader(SHARER_USER_ID) long userId,
+    public CompletableFuture<ResponseEntity<Object>> changeStatus(@RequestHeader(SHARER_USER_ID) long userId,
                                                @PathVariable long bookingId, @RequestParam boolean approved) {
         log.info("Change status bookingId={}, userId={}", bookingId, userId);
         return bookingClient.changeStatus(userId, bookingId, approved);
     }
 
+    @GetMapping("/summary")
+    public CompletableFuture<ResponseEntity<Object>> getSummary(@RequestHeader(SHARER_USER_ID) long userId) {
+        log.info("Get booking summary, userId={}", userId);
+        return bookingClient.getSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public CompletableFuture<ResponseEntity<Object>> getOwnerSummary(@RequestHeader(SHARER_USER_ID) long userId) {
+        log.info("Get booking summary by owner, userId={}", userId);
+        return bookingClient.getOwnerSummary(userId);
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public CompletableFuture<ResponseEntity<ResponseBodyEmitter>> subscribe(@RequestHeader(SHARER_USER_ID) long userId,
+                                                                      @RequestHeader(name = LAST_EVENT_ID, required = false) String lastEventId) {
+        log.info("Subscribe to booking events, userId={}, lastEventId={}", userId, lastEventId);
+        return bookingClient.subscribe(userId, lastEventId);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader(SHARER_USER_ID) long userId,
+    public CompletableFuture<ResponseEntity<Object>> getBooking(@RequestHeader(SHARER_USER_ID) long userId,
                                              @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader(SHARER_USER_ID) long userId,
+    public CompletableFuture<ResponseEntity<Object>> getBookings(@RequestHeader(SHARER_USER_ID) long userId,
                                               @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(required = false) String after) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + stateParam));
-        log.info("Get bookings with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        log.info("Get bookings with state {}, userId={}, from={}, size={}, after={}", stateParam, userId, from, size, after);
+        return bookingClient.getBookings(userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsByOwner(@RequestHeader(SHARER_USER_ID) long userId,
+    public CompletableFuture<ResponseEntity<Object>> getBookingsByOwner(@RequestHeader(SHARER_USER_ID) long userId,
                                                      @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
                                                      @PositiveOrZero @RequestParam(defaultValue = "0", required = false) Integer from,
-                                                     @Positive @RequestParam(defaultValue = "10", required = false) Integer size) {
+                                                     @Positive @RequestParam(defaultValue = "10", required = false) Integer size,
+                                                     @RequestParam(required = false) String after) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + stateParam));
-        log.info("Get bookings by owner with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookingsByOwnerId(userId, state, size, from);
+        log.info("Get bookings by owner with state {}, userId={}, from={}, size={}, after={}", stateParam, userId, from, size, after);
+        return bookingClient.getBookingsByOwnerId(userId, state, size, from, after);
     }
 }
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.handler.ErrorResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+public class ConcurrencyLimiter {
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimiter.class);
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double BASELINE_SMOOTHING = 0.05;
+    private static final long MIN_SLOW_LATENCY_NANOS = Duration.ofMillis(5).toNanos();
+    private final Map<String, AdaptiveLimit> limits = new ConcurrentHashMap<>();
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final String retryAfter;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ConcurrencyLimiter(@Value("${shareit-gateway.concurrency.initial-limit}") int initialLimit,
+                              @Value("${shareit-gateway.concurrency.min-limit}") int minLimit,
+                              @Value("${shareit-gateway.concurrency.max-limit}") int maxLimit,
+                              @Value("${shareit-gateway.concurrency.retry-after}") Duration retryAfter,
+                              MeterRegistry meterRegistry) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.retryAfter = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        this.meterRegistry = meterRegistry;
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(String clientClass,
+                                                             Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        AdaptiveLimit limit = limits.computeIfAbsent(clientClass, this::createLimit);
+
+        if (!limit.tryAcquire()) {
+            limit.rejected.increment();
+            log.debug("Shedding {} request, limit {}", clientClass, limit.getLimit());
+
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                    .body(new ErrorResponse("Server is overloaded, retry later")));
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            return call.get().whenComplete((response, error) -> limit.release(System.nanoTime() - start,
+                    error != null || ServerPool.isServerFailure(response.getStatusCodeValue())));
+        } catch (RuntimeException e) {
+            limit.release(System.nanoTime() - start, true);
+            throw e;
+        }
+    }
+
+    public int getLimit(String clientClass) {
+        AdaptiveLimit limit = limits.get(clientClass);
+
+        return limit != null ? limit.getLimit() : initialLimit;
+    }
+
+    private AdaptiveLimit createLimit(String clientClass) {
+        AdaptiveLimit limit = new AdaptiveLimit(Counter.builder("gateway.concurrency.rejected")
+                .tag("client", clientClass)
+                .description("Requests shed because the client class reached its concurrency limit")
+                .register(meterRegistry));
+
+        Gauge.builder("gateway.concurrency.limit", limit, AdaptiveLimit::getLimit)
+                .tag("client", clientClass)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in-flight", limit, AdaptiveLimit::getInFlight)
+                .tag("client", clientClass)
+                .register(meterRegistry);
+
+        return limit;
+    }
+
+    private class AdaptiveLimit {
+        private final Counter rejected;
+        private double limit = initialLimit;
+        private double baselineNanos;
+        private int inFlight;
+
+        AdaptiveLimit(Counter rejected) {
+            this.rejected = rejected;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+
+            inFlight++;
+
+            return true;
+        }
+
+        synchronized void release(long latencyNanos, boolean failed) {
+            boolean saturated = inFlight * 2 >= (int) limit;
+            inFlight--;
+
+            boolean slow = baselineNanos > 0 && latencyNanos > MIN_SLOW_LATENCY_NANOS
+                    && latencyNanos > baselineNanos * LATENCY_TOLERANCE;
+
+            if (failed || slow) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else if (saturated) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+
+            if (!failed) {
+                baselineNanos = baselineNanos == 0 ? latencyNanos
+                        : baselineNanos + BASELINE_SMOOTHING * (latencyNanos - baselineNanos);
+            }
+        }
+
+        synchronized int getLimit() {
+            return (int) limit;
+        }
+
+        synchronized int getInFlight() {
+            return inFlight;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class GatewayResponses {
+    private static final Set<String> SKIPPED_HEADERS = Set.of("connection", "content-length", "transfer-encoding",
+            "keep-alive", "date");
+
+    private GatewayResponses() {
+    }
+
+    static ResponseEntity<Object> passThrough(int status, Map<String, List<String>> upstreamHeaders, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+
+        upstreamHeaders.forEach((name, values) -> {
+            if (!name.startsWith(":") && !SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                headers.addAll(name, values);
+            }
+        });
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(headers);
+
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
+        }
+
+        return responseBuilder.build();
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "async")
+public class HttpClientServerTransport implements ServerTransport, DisposableBean {
+    private final ServerPool serverPool;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    @Autowired
+    public HttpClientServerTransport(ServerPool serverPool,
+                                     @Value("${shareit-server.timeout}") Duration timeout,
+                                     @Value("${shareit-server.async.threads}") int threads,
+                                     ObjectMapper objectMapper) {
+        this.serverPool = serverPool;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        HttpRequest.BodyPublisher bodyPublisher;
+        try {
+            bodyPublisher = bodyPublisher(body);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        ServerNode node = serverPool.acquire();
+        CompletableFuture<HttpResponse<byte[]>> shareitServerResponse;
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(node.expand(path, parameters))
+                    .timeout(timeout)
+                    .method(method.name(), bodyPublisher);
+
+            headers.forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+            shareitServerResponse = httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            serverPool.release(node, false);
+            throw e;
+        }
+
+        return shareitServerResponse
+                .whenComplete((response, error) -> serverPool.release(node,
+                        error != null || ServerPool.isServerFailure(response.statusCode())))
+                .thenApply(response -> GatewayResponses.passThrough(response.statusCode(),
+                        response.headers().map(), response.body()));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(@Nullable Object body) throws JsonProcessingException {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+}
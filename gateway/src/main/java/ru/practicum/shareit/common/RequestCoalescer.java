@@ -0,0 +1,65 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+public class RequestCoalescer {
+    private static final String METRIC_NAME = "gateway.coalescing.requests";
+    private final Map<String, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter upstreamCalls;
+    private final Counter coalescedCalls;
+
+    @Autowired
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.upstreamCalls = Counter.builder(METRIC_NAME)
+                .tag("result", "upstream")
+                .description("GET requests forwarded to shareit-server")
+                .register(meterRegistry);
+        this.coalescedCalls = Counter.builder(METRIC_NAME)
+                .tag("result", "coalesced")
+                .description("GET requests that joined an identical in-flight request")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.in-flight", inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(String key,
+                                                             Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        CompletableFuture<ResponseEntity<Object>> shared = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> existing = inFlight.putIfAbsent(key, shared);
+
+        if (existing != null) {
+            coalescedCalls.increment();
+            return existing;
+        }
+
+        upstreamCalls.increment();
+
+        try {
+            call.get().whenComplete((response, error) -> {
+                inFlight.remove(key, shared);
+
+                if (error != null) {
+                    shared.completeExceptionally(error);
+                } else {
+                    shared.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(e);
+        }
+
+        return shared;
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+@Component
+public class ResponseCache {
+    private static final String METRIC_NAME = "gateway.response-cache.requests";
+    private final Map<String, ResponseEntity<Object>> responses;
+    private final Counter revalidated;
+    private final Counter misses;
+
+    @Autowired
+    public ResponseCache(@Value("${shareit-gateway.response-cache.max-size}") int maxSize, MeterRegistry meterRegistry) {
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ResponseEntity<Object>> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.revalidated = Counter.builder(METRIC_NAME)
+                .tag("result", "revalidated")
+                .description("GET requests answered from the cache after a 304 from shareit-server")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_NAME)
+                .tag("result", "miss")
+                .description("GET requests that transferred a full response from shareit-server")
+                .register(meterRegistry);
+        Gauge.builder("gateway.response-cache.size", this, ResponseCache::size)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> exchange(String key, HttpHeaders headers,
+                                                              Function<HttpHeaders, CompletableFuture<ResponseEntity<Object>>> call) {
+        ResponseEntity<Object> cached = get(key);
+
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.getHeaders().getETag());
+        }
+
+        return call.apply(headers).thenApply(response -> {
+            if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                revalidated.increment();
+                return cached;
+            }
+
+            misses.increment();
+
+            if (response.getStatusCode() == HttpStatus.OK && response.getHeaders().getETag() != null) {
+                put(key, response);
+            } else if (cached != null) {
+                remove(key);
+            }
+
+            return response;
+        });
+    }
+
+    public synchronized int size() {
+        return responses.size();
+    }
+
+    private synchronized ResponseEntity<Object> get(String key) {
+        return responses.get(key);
+    }
+
+    private synchronized void put(String key, ResponseEntity<Object> response) {
+        responses.put(key, response);
+    }
+
+    private synchronized void remove(String key) {
+        responses.remove(key);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "blocking", matchIfMissing = true)
+public class RestTemplateServerTransport implements ServerTransport {
+    private final ServerPool serverPool;
+    private final RestTemplate rest;
+
+    @Autowired
+    public RestTemplateServerTransport(ServerPool serverPool, RestTemplateBuilder builder) {
+        this.serverPool = serverPool;
+        this.rest = builder
+                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .errorHandler(new PassThroughErrorHandler())
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        RequestCallback requestCallback = rest.httpEntityCallback(new HttpEntity<>(body, headers));
+        ServerNode node = serverPool.acquire();
+        boolean failed = true;
+
+        try {
+            ResponseEntity<Object> shareitServerResponse = rest.execute(node.expand(path, parameters), method,
+                    requestCallback, RestTemplateServerTransport::passThrough);
+            failed = ServerPool.isServerFailure(shareitServerResponse.getStatusCodeValue());
+
+            return CompletableFuture.completedFuture(shareitServerResponse);
+        } finally {
+            serverPool.release(node, failed);
+        }
+    }
+
+    private static ResponseEntity<Object> passThrough(ClientHttpResponse response) throws IOException {
+        return GatewayResponses.passThrough(response.getRawStatusCode(), response.getHeaders(),
+                StreamUtils.copyToByteArray(response.getBody()));
+    }
+
+    private static class PassThroughErrorHandler implements ResponseErrorHandler {
+        @Override
+        public boolean hasError(ClientHttpResponse response) {
+            return false;
+        }
+
+        @Override
+        public void handleError(ClientHttpResponse response) {
+        }
+    }
+}
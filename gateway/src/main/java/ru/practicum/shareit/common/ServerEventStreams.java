@@ -0,0 +1,192 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class ServerEventStreams implements DisposableBean {
+    private static final MediaType TEXT_PLAIN_UTF8 = MediaType.parseMediaType("text/plain;charset=UTF-8");
+    private final ServerPool serverPool;
+    private final Duration streamTimeout;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    @Autowired
+    public ServerEventStreams(ServerPool serverPool,
+                              @Value("${shareit-server.timeout}") Duration connectTimeout,
+                              @Value("${shareit-server.events.timeout}") Duration streamTimeout,
+                              @Value("${shareit-server.events.threads}") int threads) {
+        this.serverPool = serverPool;
+        this.streamTimeout = streamTimeout;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    public CompletableFuture<ResponseEntity<ResponseBodyEmitter>> open(String path, HttpHeaders headers) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(streamTimeout.toMillis());
+        EventForwarder forwarder = new EventForwarder(emitter);
+        CompletableFuture<ResponseEntity<ResponseBodyEmitter>> result = new CompletableFuture<>();
+        ServerNode node = serverPool.openStream();
+        AtomicBoolean released = new AtomicBoolean();
+
+        emitter.onCompletion(() -> close(forwarder, node, released));
+        emitter.onTimeout(() -> close(forwarder, node, released));
+        emitter.onError(error -> close(forwarder, node, released));
+
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(node.expand(path, null))
+                    .GET();
+
+            headers.forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+            httpClient.sendAsync(request.build(), responseInfo -> {
+                        if (responseInfo.statusCode() != HttpStatus.OK.value()) {
+                            return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(),
+                                    body -> {
+                                        result.complete(toErrorResponse(responseInfo, body, emitter));
+                                        return null;
+                                    });
+                        }
+
+                        result.complete(ResponseEntity.ok()
+                                .contentType(MediaType.TEXT_EVENT_STREAM)
+                                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                                .body(emitter));
+
+                        return HttpResponse.BodySubscribers.fromLineSubscriber(forwarder);
+                    })
+                    .whenComplete((response, error) -> {
+                        if (error != null && result.completeExceptionally(error)) {
+                            release(node, released, true);
+                        } else if (response != null && ServerPool.isServerFailure(response.statusCode())) {
+                            release(node, released, true);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            release(node, released, false);
+            throw e;
+        }
+
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private void close(EventForwarder forwarder, ServerNode node, AtomicBoolean released) {
+        forwarder.cancel();
+        release(node, released, false);
+    }
+
+    private void release(ServerNode node, AtomicBoolean released, boolean failed) {
+        if (released.compareAndSet(false, true)) {
+            serverPool.closeStream(node, failed);
+        }
+    }
+
+    private static ResponseEntity<ResponseBodyEmitter> toErrorResponse(HttpResponse.ResponseInfo responseInfo,
+                                                                       byte[] body, ResponseBodyEmitter emitter) {
+        ResponseEntity<Object> upstream = GatewayResponses.passThrough(responseInfo.statusCode(),
+                responseInfo.headers().map(), body);
+
+        try {
+            if (upstream.hasBody()) {
+                emitter.send(upstream.getBody(), upstream.getHeaders().getContentType());
+            }
+
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+
+        return ResponseEntity.status(upstream.getStatusCode())
+                .headers(upstream.getHeaders())
+                .body(emitter);
+    }
+
+    private static class EventForwarder implements Flow.Subscriber<String> {
+        private final ResponseBodyEmitter emitter;
+        private final StringBuilder event = new StringBuilder();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private volatile Flow.Subscription subscription;
+
+        EventForwarder(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+
+            if (cancelled.get()) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(String line) {
+            event.append(line).append('\n');
+
+            if (!line.isEmpty()) {
+                subscription.request(1);
+                return;
+            }
+
+            try {
+                emitter.send(event.toString(), TEXT_PLAIN_UTF8);
+                event.setLength(0);
+                subscription.request(1);
+            } catch (IOException | IllegalStateException e) {
+                cancel();
+                emitter.completeWithError(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            emitter.completeWithError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            emitter.complete();
+        }
+
+        void cancel() {
+            if (!cancelled.compareAndSet(false, true)) {
+                return;
+            }
+
+            Flow.Subscription current = subscription;
+
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ServerNode {
+    private final String url;
+    private final DefaultUriBuilderFactory uriBuilderFactory;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger streams = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean healthy = true;
+    private volatile long ejectedUntil;
+
+    public ServerNode(String url) {
+        this.url = url;
+        this.uriBuilderFactory = new DefaultUriBuilderFactory(url);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public URI expand(String path, @Nullable Map<String, Object> parameters) {
+        return parameters != null ? uriBuilderFactory.expand(path, parameters) : uriBuilderFactory.expand(path);
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public int getStreams() {
+        return streams.get();
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public boolean isAvailable(long now) {
+        return healthy && now >= ejectedUntil;
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    void openStream() {
+        streams.incrementAndGet();
+    }
+
+    void closeStream() {
+        streams.decrementAndGet();
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    int recordFailure() {
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    void recordSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    void eject(long until) {
+        consecutiveFailures.set(0);
+        ejectedUntil = until;
+    }
+}
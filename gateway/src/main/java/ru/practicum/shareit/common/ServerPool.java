@@ -0,0 +1,173 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+@Component
+public class ServerPool {
+    private static final Logger log = LoggerFactory.getLogger(ServerPool.class);
+    private final List<ServerNode> nodes;
+    private final int ejectionFailures;
+    private final Duration ejectionDuration;
+    private final String healthCheckPath;
+    private final Duration healthCheckTimeout;
+    private final HttpClient healthCheckClient;
+
+    @Autowired
+    public ServerPool(@Value("${shareit-server.url}") List<String> urls,
+                      @Value("${shareit-server.ejection.failures}") int ejectionFailures,
+                      @Value("${shareit-server.ejection.duration}") Duration ejectionDuration,
+                      @Value("${shareit-server.health-check.path}") String healthCheckPath,
+                      @Value("${shareit-server.health-check.timeout}") Duration healthCheckTimeout,
+                      MeterRegistry meterRegistry) {
+        this.nodes = urls.stream()
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(ServerNode::new)
+                .collect(Collectors.toList());
+        this.ejectionFailures = ejectionFailures;
+        this.ejectionDuration = ejectionDuration;
+        this.healthCheckPath = healthCheckPath;
+        this.healthCheckTimeout = healthCheckTimeout;
+        this.healthCheckClient = HttpClient.newBuilder()
+                .connectTimeout(healthCheckTimeout)
+                .build();
+
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("At least one shareit-server url is required");
+        }
+
+        for (ServerNode node : nodes) {
+            Gauge.builder("gateway.server.outstanding", node, ServerNode::getOutstanding)
+                    .tag("server", node.getUrl())
+                    .register(meterRegistry);
+            Gauge.builder("gateway.server.streams", node, ServerNode::getStreams)
+                    .tag("server", node.getUrl())
+                    .register(meterRegistry);
+            Gauge.builder("gateway.server.available", node, n -> n.isAvailable(System.currentTimeMillis()) ? 1 : 0)
+                    .tag("server", node.getUrl())
+                    .register(meterRegistry);
+        }
+    }
+
+    public static boolean isServerFailure(int status) {
+        return status == 502 || status == 503 || status == 504;
+    }
+
+    public ServerNode acquire() {
+        ServerNode node = choose();
+        node.acquire();
+
+        return node;
+    }
+
+    public void release(ServerNode node, boolean failed) {
+        node.release();
+        recordResult(node, failed);
+    }
+
+    // Event streams stay open for minutes, so they are kept out of the outstanding count that balances requests.
+    public ServerNode openStream() {
+        ServerNode node = choose();
+        node.openStream();
+
+        return node;
+    }
+
+    public void closeStream(ServerNode node, boolean failed) {
+        node.closeStream();
+        recordResult(node, failed);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit-server.health-check.interval}")
+    public void checkHealth() {
+        List<CompletableFuture<Void>> checks = new ArrayList<>(nodes.size());
+
+        for (ServerNode node : nodes) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(node.getUrl() + healthCheckPath))
+                    .timeout(healthCheckTimeout)
+                    .GET()
+                    .build();
+
+            checks.add(healthCheckClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> error == null && response.statusCode() == 200)
+                    .thenAccept(healthy -> updateHealth(node, healthy)));
+        }
+
+        CompletableFuture.allOf(checks.toArray(new CompletableFuture[0])).join();
+    }
+
+    public List<ServerNode> getNodes() {
+        return nodes;
+    }
+
+    private void recordResult(ServerNode node, boolean failed) {
+        if (!failed) {
+            node.recordSuccess();
+        } else if (node.recordFailure() >= ejectionFailures) {
+            node.eject(System.currentTimeMillis() + ejectionDuration.toMillis());
+            log.warn("Server {} ejected for {}", node.getUrl(), ejectionDuration);
+        }
+    }
+
+    private ServerNode choose() {
+        if (nodes.size() == 1) {
+            return nodes.get(0);
+        }
+
+        long now = System.currentTimeMillis();
+        List<ServerNode> available = new ArrayList<>(nodes.size());
+
+        for (ServerNode node : nodes) {
+            if (node.isAvailable(now)) {
+                available.add(node);
+            }
+        }
+
+        if (available.isEmpty()) {
+            available = nodes;
+        }
+
+        if (available.size() == 1) {
+            return available.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(available.size());
+        int second = random.nextInt(available.size() - 1);
+
+        if (second >= first) {
+            second++;
+        }
+
+        ServerNode firstNode = available.get(first);
+        ServerNode secondNode = available.get(second);
+
+        return firstNode.getOutstanding() <= secondNode.getOutstanding() ? firstNode : secondNode;
+    }
+
+    private void updateHealth(ServerNode node, boolean healthy) {
+        if (node.isHealthy() != healthy) {
+            log.info("Server {} is {}", node.getUrl(), healthy ? "healthy" : "unhealthy");
+        }
+
+        node.setHealthy(healthy);
+    }
+}
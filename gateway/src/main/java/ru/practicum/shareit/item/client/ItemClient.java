@@ -1,50 +1,63 @@
 package ru.practicum.shareit.item.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.common.BaseClient;
+import ru.practicum.shareit.common.ConcurrencyLimiter;
+import ru.practicum.shareit.common.RequestCoalescer;
+import ru.practicum.shareit.common.ResponseCache;
+import ru.practicum.shareit.common.ServerTransport;
 import ru.practicum.shareit.item.dto.CommentDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerTransport transport, RequestCoalescer coalescer, ResponseCache responseCache,
+                      ConcurrencyLimiter limiter) {
+        super(transport, coalescer, responseCache, limiter, API_PREFIX);
     }
 
-    public ResponseEntity<Object> create(long userId, ItemDTO itemDTO) {
+    public CompletableFuture<ResponseEntity<Object>> create(long userId, ItemDTO itemDTO) {
         return post("", userId, itemDTO);
     }
 
-    public ResponseEntity<Object> getById(long userId, long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> createBatch(long userId, List<ItemDTO> itemDTOs) {
+        return post("/batch", userId, itemDTOs);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getById(long userId, long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getItemsByUserId(long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getItemsByUserId(long userId, Integer from, Integer size, String after) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
 
-        return get("?from={from}&size={size}", userId, parameters);
+        return get("?from={from}&size={size}", userId, parameters, after);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemsByText(String text, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getItemsByText(String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -54,15 +67,29 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> update(long userId, long itemId, ItemDTO itemDTO) {
+    public CompletableFuture<ResponseEntity<Object>> getSuggestions(String prefix, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "size", size
+        );
+
+        return get("/suggest?prefix={prefix}&size={size}", null, parameters);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> update(long userId, long itemId, ItemDTO itemDTO) {
         return patch("/" + itemId, userId, itemDTO);
     }
 
-    public ResponseEntity<Object> delete(long userId, long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> delete(long userId, long itemId) {
         return delete("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> createComment(long userId, long itemId, CommentDTO commentDTO) {
+    public CompletableFuture<ResponseEntity<Object>> createComment(long userId, long itemId, CommentDTO commentDTO) {
         return post("/" + itemId + "/comment", userId, commentDTO);
     }
+
+    @Override
+    protected String clientClass(HttpMethod method, String path) {
+        return path.startsWith("/search") ? "items-search" : super.clientClass(method, path);
+    }
 }
@@ -1,8 +1,14 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -15,13 +21,25 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.dto.CommentDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Validated
 @Controller
@@ -30,54 +48,104 @@ import javax.validation.constraints.PositiveOrZero;
 public class ItemController {
     private static final Logger log = LoggerFactory.getLogger(ItemController.class);
     private static final String SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final int MAX_SUGGESTIONS = 50;
     private final ItemClient itemClient;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader(SHARER_USER_ID) long userId,
+    public CompletableFuture<ResponseEntity<Object>> createItem(@RequestHeader(SHARER_USER_ID) long userId,
                                              @Valid @RequestBody ItemDTO itemDTO) {
         log.info("Creating item {}, userId={}", itemDTO, userId);
         return itemClient.create(userId, itemDTO);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<Object>> createItems(@RequestHeader(SHARER_USER_ID) long userId,
+                                              @RequestBody List<@Valid ItemDTO> itemDTOs) {
+        log.info("Creating {} items, userId={}", itemDTOs.size(), userId);
+        return itemClient.createBatch(userId, itemDTOs);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public CompletableFuture<ResponseEntity<Object>> createItemsFromStream(@RequestHeader(SHARER_USER_ID) long userId,
+                                                        InputStream body) throws IOException {
+        List<ItemDTO> itemDTOs;
+
+        try (MappingIterator<ItemDTO> items = objectMapper.readerFor(ItemDTO.class).readValues(body)) {
+            itemDTOs = items.readAll();
+        } catch (JsonProcessingException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid item stream");
+        }
+
+        for (ItemDTO itemDTO : itemDTOs) {
+            Set<ConstraintViolation<ItemDTO>> violations = validator.validate(itemDTO);
+
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+        }
+
+        log.info("Creating {} items from stream, userId={}", itemDTOs.size(), userId);
+        return itemClient.createBatch(userId, itemDTOs);
+    }
+
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@RequestHeader(SHARER_USER_ID) long userId,
+    public CompletableFuture<ResponseEntity<Object>> getItem(@RequestHeader(SHARER_USER_ID) long userId,
                                           @PathVariable long itemId) {
         log.info("Get item with id={}, userId={}", itemId, userId);
         return itemClient.getById(userId, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemsByUserId(@RequestHeader(SHARER_USER_ID) long userId,
+    public CompletableFuture<ResponseEntity<Object>> getItemsByUserId(@RequestHeader(SHARER_USER_ID) long userId,
                                                    @PositiveOrZero @RequestParam(defaultValue = "0", required = false) Integer from,
-                                                   @Positive @RequestParam(defaultValue = "10", required = false) Integer size) {
+                                                   @Positive @RequestParam(defaultValue = "10", required = false) Integer size,
+                                                   @RequestParam(required = false) String after) {
         log.info("Get items by userId={}", userId);
-        return itemClient.getItemsByUserId(userId, from, size);
+        return itemClient.getItemsByUserId(userId, from, size, after);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public CompletableFuture<ResponseEntity<Object>> getAvailability(@RequestHeader(SHARER_USER_ID) long userId,
+                                                  @PathVariable long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Get availability of itemId={} from {} to {}, userId={}", itemId, from, to, userId);
+        return itemClient.getAvailability(userId, itemId, from, to);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestParam String text,
+    public CompletableFuture<ResponseEntity<Object>> search(@RequestParam String text,
                                          @PositiveOrZero @RequestParam(defaultValue = "0", required = false) Integer from,
                                          @Positive @RequestParam(defaultValue = "10", required = false) Integer size) {
         log.info("Search items by text={}", text);
         return itemClient.getItemsByText(text, from, size);
     }
 
+    @GetMapping("/suggest")
+    public CompletableFuture<ResponseEntity<Object>> suggest(@NotBlank @RequestParam String prefix,
+                                          @Positive @Max(MAX_SUGGESTIONS) @RequestParam(defaultValue = "10", required = false) Integer size) {
+        log.info("Suggest item names by prefix={}", prefix);
+        return itemClient.getSuggestions(prefix, size);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader(SHARER_USER_ID) long userId,
+    public CompletableFuture<ResponseEntity<Object>> updateItem(@RequestHeader(SHARER_USER_ID) long userId,
                                              @PathVariable long itemId, @RequestBody ItemDTO itemDTO) {
         log.info("Update item {}, itemId={}", itemDTO, itemId);
         return itemClient.update(userId, itemId, itemDTO);
     }
 
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Object> deleteItem(@RequestHeader(SHARER_USER_ID) long userId,
+    public CompletableFuture<ResponseEntity<Object>> deleteItem(@RequestHeader(SHARER_USER_ID) long userId,
                                              @PathVariable long itemId) {
         log.info("Delete itemId={}", itemId);
         return itemClient.delete(userId, itemId);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader(SHARER_USER_ID) long userId,
+    public CompletableFuture<ResponseEntity<Object>> createComment(@RequestHeader(SHARER_USER_ID) long userId,
                                                 @PathVariable long itemId, @Valid @RequestBody CommentDTO commentDTO) {
         log.info("Create comment {}, itemId={}", commentDTO, itemId);
         return itemClient.createComment(userId, itemId, commentDTO);
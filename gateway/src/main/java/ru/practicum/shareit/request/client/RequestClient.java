@@ -1,49 +1,46 @@
 package ru.practicum.shareit.request.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.common.BaseClient;
+import ru.practicum.shareit.common.ConcurrencyLimiter;
+import ru.practicum.shareit.common.RequestCoalescer;
+import ru.practicum.shareit.common.ResponseCache;
+import ru.practicum.shareit.common.ServerTransport;
 import ru.practicum.shareit.request.dto.RequestDTO;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public RequestClient(ServerTransport transport, RequestCoalescer coalescer, ResponseCache responseCache,
+                         ConcurrencyLimiter limiter) {
+        super(transport, coalescer, responseCache, limiter, API_PREFIX);
     }
 
-    public ResponseEntity<Object> create(long userId, RequestDTO requestDTO) {
+    public CompletableFuture<ResponseEntity<Object>> create(long userId, RequestDTO requestDTO) {
         return post("", userId, requestDTO);
     }
 
-    public ResponseEntity<Object> getRequestsByUserId(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequestsByUserId(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getRequestsByUserIdWithPagination(long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getRequestsByUserIdWithPagination(long userId, Integer from, Integer size, String after) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
 
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return get("/all?from={from}&size={size}", userId, parameters, after);
     }
 
-    public ResponseEntity<Object> getRequestById(long userId, long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequestById(long userId, long requestId) {
         return get("/" + requestId, userId);
     }
 }
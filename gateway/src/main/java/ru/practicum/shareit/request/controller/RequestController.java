@@ -19,6 +19,7 @@ import ru.practicum.shareit.request.dto.RequestDTO;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @Validated
 @Controller
@@ -30,28 +31,29 @@ public class RequestController {
     private final RequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createRequest(@RequestHeader(SHARER_USER_ID) long userId,
+    public CompletableFuture<ResponseEntity<Object>> createRequest(@RequestHeader(SHARER_USER_ID) long userId,
                                                 @Valid @RequestBody RequestDTO requestDTO) {
         log.info("Create request {}, userId={}", requestDTO, userId);
         return requestClient.create(userId, requestDTO);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getRequestList(@RequestHeader(SHARER_USER_ID) long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequestList(@RequestHeader(SHARER_USER_ID) long userId) {
         log.info("Get request list userId={}", userId);
         return requestClient.getRequestsByUserId(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequestList(@RequestHeader(SHARER_USER_ID) long userId,
+    public CompletableFuture<ResponseEntity<Object>> getAllRequestList(@RequestHeader(SHARER_USER_ID) long userId,
                                                     @PositiveOrZero @RequestParam(defaultValue = "0", required = false) Integer from,
-                                                    @Positive @RequestParam(defaultValue = "10", required = false) Integer size) {
+                                                    @Positive @RequestParam(defaultValue = "10", required = false) Integer size,
+                                                    @RequestParam(required = false) String after) {
         log.info("Get all request userId={}", userId);
-        return requestClient.getRequestsByUserIdWithPagination(userId, from, size);
+        return requestClient.getRequestsByUserIdWithPagination(userId, from, size, after);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequest(@RequestHeader(SHARER_USER_ID) long userId,
+    public CompletableFuture<ResponseEntity<Object>> getRequest(@RequestHeader(SHARER_USER_ID) long userId,
                                              @PathVariable long requestId) {
         log.info("Get request by id requestId={}, userId={}", requestId, userId);
         return requestClient.getRequestById(userId, requestId);
@@ -1,46 +1,44 @@
 package ru.practicum.shareit.user.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.common.BaseClient;
+import ru.practicum.shareit.common.ConcurrencyLimiter;
+import ru.practicum.shareit.common.RequestCoalescer;
+import ru.practicum.shareit.common.ResponseCache;
+import ru.practicum.shareit.common.ServerTransport;
 import ru.practicum.shareit.user.dto.UserDTO;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ServerTransport transport, RequestCoalescer coalescer, ResponseCache responseCache,
+                      ConcurrencyLimiter limiter) {
+        super(transport, coalescer, responseCache, limiter, API_PREFIX);
     }
 
-    public ResponseEntity<Object> create(UserDTO userDTO) {
+    public CompletableFuture<ResponseEntity<Object>> create(UserDTO userDTO) {
         return post("", userDTO);
     }
 
-    public ResponseEntity<Object> getUsers() {
+    public CompletableFuture<ResponseEntity<Object>> getUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> getById(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getById(long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> update(long userId, UserDTO userDTO) {
+    public CompletableFuture<ResponseEntity<Object>> update(long userId, UserDTO userDTO) {
         return patch("/" + userId, userDTO);
     }
 
-    public ResponseEntity<Object> delete(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> delete(long userId) {
         return delete("/" + userId);
     }
 }
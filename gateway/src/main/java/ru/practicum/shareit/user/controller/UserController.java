@@ -16,6 +16,7 @@ import ru.practicum.shareit.user.client.UserClient;
 import ru.practicum.shareit.user.dto.UserDTO;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
@@ -25,31 +26,31 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@Valid @RequestBody UserDTO userDTO) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(@Valid @RequestBody UserDTO userDTO) {
         log.info("Create user {}", userDTO);
         return userClient.create(userDTO);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public CompletableFuture<ResponseEntity<Object>> getUsers() {
         log.info("Get all users");
         return userClient.getUsers();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUser(@PathVariable long userId) {
         log.info("Get user by id userId={}", userId);
         return userClient.getById(userId);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable long userId, @RequestBody UserDTO userDTO) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(@PathVariable long userId, @RequestBody UserDTO userDTO) {
         log.info("Update user {}, userId={}", userDTO, userId);
         return userClient.update(userId, userDTO);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable long userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(@PathVariable long userId) {
         log.info("Delete user by id userId={}", userId);
         return userClient.delete(userId);
     }
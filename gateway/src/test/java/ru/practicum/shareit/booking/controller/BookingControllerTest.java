@@ -11,23 +11,31 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.dto.BookItemRequestDTO;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -69,12 +77,16 @@ class BookingControllerTest {
         String bookingDTOJson = objectMapper.writeValueAsString(firstBookingDTO);
 
         when(client.create(anyLong(), any(BookItemRequestDTO.class)))
-                .thenReturn(response);
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mvc.perform(post("/bookings")
+        MvcResult result = mvc.perform(post("/bookings")
                         .header(SHARER_USER_ID, 1)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(bookingDTOJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().json(bookingDTOJson));
     }
@@ -87,12 +99,16 @@ class BookingControllerTest {
         String bookingDTOJson = objectMapper.writeValueAsString(secondBookingDTO);
 
         when(client.changeStatus(1L, 2L, true))
-                .thenReturn(response);
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mvc.perform(patch("/bookings/" + 2)
+        MvcResult result = mvc.perform(patch("/bookings/" + 2)
                         .contentType(MediaType.APPLICATION_JSON)
                         .header(SHARER_USER_ID, 1)
                         .queryParam("approved", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().json(bookingDTOJson));
     }
@@ -102,11 +118,15 @@ class BookingControllerTest {
         ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK)
                 .body(List.of(firstBookingDTO, secondBookingDTO));
 
-        when(client.getBookings(anyLong(), any(), anyInt(), anyInt()))
-                .thenReturn(response);
+        when(client.getBookings(anyLong(), any(), anyInt(), anyInt(), isNull()))
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mvc.perform(get("/bookings")
+        MvcResult result = mvc.perform(get("/bookings")
                         .header(SHARER_USER_ID, 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[*].itemId", containsInAnyOrder(1, 2)));
@@ -117,13 +137,77 @@ class BookingControllerTest {
         ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK)
                 .body(List.of(firstBookingDTO, secondBookingDTO));
 
-        when(client.getBookingsByOwnerId(anyLong(), any(), anyInt(), anyInt()))
-                .thenReturn(response);
+        when(client.getBookingsByOwnerId(anyLong(), any(), anyInt(), anyInt(), isNull()))
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mvc.perform(get("/bookings/owner")
+        MvcResult result = mvc.perform(get("/bookings/owner")
                         .header(SHARER_USER_ID, 2))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[*].itemId", containsInAnyOrder(1, 2)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnBookingSummary() throws Exception {
+        ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK)
+                .body(Map.of("all", 2, "future", 2, "waiting", 1));
+
+        when(client.getSummary(1L))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        MvcResult result = mvc.perform(get("/bookings/summary")
+                        .header(SHARER_USER_ID, 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(2))
+                .andExpect(jsonPath("$.waiting").value(1));
+    }
+
+    @Test
+    void shouldReturnOwnerBookingSummary() throws Exception {
+        ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK)
+                .body(Map.of("all", 1, "current", 1));
+
+        when(client.getOwnerSummary(2L))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        MvcResult result = mvc.perform(get("/bookings/owner/summary")
+                        .header(SHARER_USER_ID, 2))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.current").value(1));
+    }
+
+    @Test
+    void shouldProxyBookingEventStream() throws Exception {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        emitter.send("id:4\nevent:booking\ndata:{\"status\":\"APPROVED\"}\n\n", MediaType.TEXT_PLAIN);
+        emitter.complete();
+
+        when(client.subscribe(1L, "3"))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok()
+                        .contentType(MediaType.TEXT_EVENT_STREAM)
+                        .body(emitter)));
+
+        MvcResult result = mvc.perform(get("/bookings/events")
+                        .header(SHARER_USER_ID, 1)
+                        .header("Last-Event-ID", "3")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("event:booking")));
+    }
+}
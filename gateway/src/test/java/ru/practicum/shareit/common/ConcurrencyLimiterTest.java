@@ -0,0 +1,95 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimiterTest {
+    private MeterRegistry meterRegistry;
+    private ConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new ConcurrencyLimiter(4, 2, 10, Duration.ofSeconds(2), meterRegistry);
+    }
+
+    @Test
+    void shouldShedRequestsAboveLimit() {
+        List<CompletableFuture<ResponseEntity<Object>>> pending = fill("items-search", 4);
+
+        ResponseEntity<Object> rejected = limiter.execute("items-search", CompletableFuture::new).join();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        assertEquals("2", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, meterRegistry.get("gateway.concurrency.rejected").tag("client", "items-search")
+                .counter().count());
+
+        pending.forEach(future -> future.complete(ResponseEntity.ok().build()));
+
+        assertFalse(limiter.execute("items-search", CompletableFuture::new).isDone());
+    }
+
+    @Test
+    void shouldTrackLimitsPerClientClass() {
+        fill("items-search", 4);
+
+        CompletableFuture<ResponseEntity<Object>> write = limiter.execute("bookings-write", CompletableFuture::new);
+
+        assertFalse(write.isDone());
+    }
+
+    @Test
+    void shouldDecreaseLimitOnServerFailures() {
+        for (int i = 0; i < 10; i++) {
+            limiter.execute("bookings-write", () -> CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()));
+        }
+
+        assertEquals(2, limiter.getLimit("bookings-write"));
+    }
+
+    @Test
+    void shouldDecreaseLimitOnUpstreamErrors() {
+        limiter.execute("bookings-write", () -> CompletableFuture.failedFuture(new IllegalStateException()));
+
+        assertEquals(3, limiter.getLimit("bookings-write"));
+    }
+
+    @Test
+    void shouldIncreaseLimitWhenSaturatedAndHealthy() {
+        for (int i = 0; i < 3; i++) {
+            List<CompletableFuture<ResponseEntity<Object>>> pending = fill("users-read", limiter.getLimit("users-read"));
+
+            pending.forEach(future -> future.complete(ResponseEntity.ok().build()));
+        }
+
+        assertTrue(limiter.getLimit("users-read") > 4);
+        assertTrue(limiter.getLimit("users-read") <= 10);
+    }
+
+    private List<CompletableFuture<ResponseEntity<Object>>> fill(String clientClass, int count) {
+        List<CompletableFuture<ResponseEntity<Object>>> pending = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+            limiter.execute(clientClass, () -> upstream);
+            pending.add(upstream);
+        }
+
+        return pending;
+    }
+}
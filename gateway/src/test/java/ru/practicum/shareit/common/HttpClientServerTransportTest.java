@@ -0,0 +1,94 @@
+package ru.practicum.shareit.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HttpClientServerTransportTest {
+    private HttpServer server;
+    private HttpClientServerTransport transport;
+    private final AtomicReference<String> receivedUri = new AtomicReference<>();
+    private final AtomicReference<String> receivedUserId = new AtomicReference<>();
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            receivedUri.set(exchange.getRequestURI().toString());
+            receivedUserId.set(exchange.getRequestHeaders().getFirst("X-Sharer-User-Id"));
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+            byte[] response = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+            int status = exchange.getRequestURI().getPath().endsWith("/404") ? 404 : 200;
+
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("X-Next-Cursor", "abc");
+            exchange.sendResponseHeaders(status, response.length);
+
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(response);
+            }
+        });
+        server.start();
+
+        ServerPool serverPool = new ServerPool(List.of("http://localhost:" + server.getAddress().getPort()),
+                3, Duration.ofSeconds(30), "/actuator/health", Duration.ofSeconds(1), new SimpleMeterRegistry());
+        transport = new HttpClientServerTransport(serverPool, Duration.ofSeconds(5), 2, new ObjectMapper());
+    }
+
+    @AfterEach
+    void afterEach() {
+        transport.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldExpandParametersAndPassResponseThrough() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "7");
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/items?from={from}&size={size}",
+                headers, Map.of("from", 0, "size", 10), null).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("/items?from=0&size=10", receivedUri.get());
+        assertEquals("7", receivedUserId.get());
+        assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertArrayEquals("{\"id\":1}".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void shouldSendBodyAsJson() {
+        transport.exchange(HttpMethod.POST, "/items", new HttpHeaders(), null, Map.of("name", "Дрель")).join();
+
+        assertEquals("{\"name\":\"Дрель\"}", receivedBody.get());
+    }
+
+    @Test
+    void shouldKeepErrorStatus() {
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/items/404",
+                new HttpHeaders(), null, null).join();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
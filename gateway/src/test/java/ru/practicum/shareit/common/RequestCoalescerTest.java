@@ -0,0 +1,87 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+    private MeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry);
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    void shouldShareInFlightRequest() {
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+
+        CompletableFuture<ResponseEntity<Object>> first = coalescer.execute("/items/1|1", () -> call(upstream));
+        CompletableFuture<ResponseEntity<Object>> second = coalescer.execute("/items/1|1", () -> call(upstream));
+
+        ResponseEntity<Object> response = ResponseEntity.ok("item");
+        upstream.complete(response);
+
+        assertEquals(1, upstreamCalls.get());
+        assertSame(response, first.join());
+        assertSame(response, second.join());
+        assertEquals(1, count("upstream"));
+        assertEquals(1, count("coalesced"));
+    }
+
+    @Test
+    void shouldNotShareDifferentKeys() {
+        coalescer.execute("/items/1|1", () -> call(new CompletableFuture<>()));
+        coalescer.execute("/items/1|2", () -> call(new CompletableFuture<>()));
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, count("coalesced"));
+    }
+
+    @Test
+    void shouldForgetCompletedRequest() {
+        CompletableFuture<ResponseEntity<Object>> first = coalescer.execute("/items/1|1",
+                () -> call(CompletableFuture.completedFuture(ResponseEntity.ok("first"))));
+        CompletableFuture<ResponseEntity<Object>> second = coalescer.execute("/items/1|1",
+                () -> call(CompletableFuture.completedFuture(ResponseEntity.ok("second"))));
+
+        assertNotSame(first.join(), second.join());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldShareFailure() {
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+
+        CompletableFuture<ResponseEntity<Object>> first = coalescer.execute("/items/1|1", () -> call(upstream));
+        CompletableFuture<ResponseEntity<Object>> second = coalescer.execute("/items/1|1", () -> call(upstream));
+        upstream.completeExceptionally(new IllegalStateException("Server unavailable"));
+
+        assertThrows(RuntimeException.class, first::join);
+        assertThrows(RuntimeException.class, second::join);
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> call(CompletableFuture<ResponseEntity<Object>> response) {
+        upstreamCalls.incrementAndGet();
+        return response;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.coalescing.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ResponseCacheTest {
+    private static final String ETAG = "\"item-1-abc\"";
+    private MeterRegistry meterRegistry;
+    private ResponseCache cache;
+    private List<HttpHeaders> sentHeaders;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ResponseCache(2, meterRegistry);
+        sentHeaders = new ArrayList<>();
+    }
+
+    @Test
+    void shouldServeCachedResponseAfterNotModified() {
+        ResponseEntity<Object> original = ResponseEntity.ok().eTag(ETAG).body((Object) "item".getBytes());
+
+        exchange("/items/1|1", original);
+        ResponseEntity<Object> revalidated = exchange("/items/1|1", ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        assertSame(original, revalidated);
+        assertNull(sentHeaders.get(0).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(ETAG, sentHeaders.get(1).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(1, count("revalidated"));
+        assertEquals(1, count("miss"));
+    }
+
+    @Test
+    void shouldReplaceChangedResponse() {
+        exchange("/items/1|1", ResponseEntity.ok().eTag(ETAG).body((Object) "old".getBytes()));
+        ResponseEntity<Object> changed = ResponseEntity.ok().eTag("\"item-1-def\"").body((Object) "new".getBytes());
+
+        assertSame(changed, exchange("/items/1|1", changed));
+        assertSame(changed, exchange("/items/1|1", ResponseEntity.status(HttpStatus.NOT_MODIFIED).build()));
+        assertEquals("\"item-1-def\"", sentHeaders.get(2).getFirst(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    void shouldNotStoreResponsesWithoutETag() {
+        exchange("/items|1", ResponseEntity.ok("list"));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldDropEntryWhenResourceIsGone() {
+        exchange("/items/1|1", ResponseEntity.ok().eTag(ETAG).body((Object) "item".getBytes()));
+        exchange("/items/1|1", ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntries() {
+        exchange("/items/1|1", ResponseEntity.ok().eTag(ETAG).build());
+        exchange("/items/2|1", ResponseEntity.ok().eTag(ETAG).build());
+        exchange("/items/3|1", ResponseEntity.ok().eTag(ETAG).build());
+
+        assertEquals(2, cache.size());
+    }
+
+    private ResponseEntity<Object> exchange(String key, ResponseEntity<Object> upstream) {
+        return cache.exchange(key, new HttpHeaders(), headers -> {
+            sentHeaders.add(headers);
+            return CompletableFuture.completedFuture(upstream);
+        }).join();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.response-cache.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.common;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RestTemplateServerTransportTest {
+    private static final byte[] ITEM_JSON = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+    private HttpServer server;
+    private RestTemplateServerTransport transport;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            int status = path.endsWith("/404") ? 404 : 200;
+
+            if (path.endsWith("/empty")) {
+                exchange.sendResponseHeaders(status, -1);
+                exchange.close();
+                return;
+            }
+
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("X-Next-Cursor", "abc");
+            exchange.sendResponseHeaders(status, ITEM_JSON.length);
+
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(ITEM_JSON);
+            }
+        });
+        server.start();
+
+        ServerPool serverPool = new ServerPool(List.of("http://localhost:" + server.getAddress().getPort()),
+                3, Duration.ofSeconds(30), "/actuator/health", Duration.ofSeconds(1), new SimpleMeterRegistry());
+        transport = new RestTemplateServerTransport(serverPool, new RestTemplateBuilder());
+    }
+
+    @AfterEach
+    void afterEach() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldPassBodyBytesAndHeadersThrough() {
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/items?from={from}",
+                new HttpHeaders(), Map.of("from", 0), null).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertArrayEquals(ITEM_JSON, (byte[]) response.getBody());
+    }
+
+    @Test
+    void shouldPassErrorResponseThrough() {
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/items/404",
+                new HttpHeaders(), null, null).join();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals(ITEM_JSON, (byte[]) response.getBody());
+    }
+
+    @Test
+    void shouldReturnEmptyBody() {
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.DELETE, "/items/empty",
+                new HttpHeaders(), null, null).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.common;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ServerEventStreamsTest {
+    private HttpServer server;
+    private ServerPool serverPool;
+    private ServerEventStreams eventStreams;
+    private final AtomicReference<String> receivedUserId = new AtomicReference<>();
+    private final AtomicReference<String> receivedLastEventId = new AtomicReference<>();
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/bookings/events", exchange -> {
+            receivedUserId.set(exchange.getRequestHeaders().getFirst("X-Sharer-User-Id"));
+            receivedLastEventId.set(exchange.getRequestHeaders().getFirst("Last-Event-ID"));
+
+            boolean notFound = "404".equals(receivedUserId.get());
+            byte[] response = (notFound ? "{\"error\":\"User not found\"}" : "id:1\nevent:booking\ndata:{}\n\n")
+                    .getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().add("Content-Type",
+                    notFound ? "application/json" : "text/event-stream");
+            exchange.sendResponseHeaders(notFound ? 404 : 200, response.length);
+
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(response);
+            }
+        });
+        server.start();
+
+        serverPool = new ServerPool(List.of("http://localhost:" + server.getAddress().getPort()),
+                3, Duration.ofSeconds(30), "/actuator/health", Duration.ofSeconds(1), new SimpleMeterRegistry());
+        eventStreams = new ServerEventStreams(serverPool, Duration.ofSeconds(5), Duration.ofMinutes(1), 2);
+    }
+
+    @AfterEach
+    void afterEach() {
+        eventStreams.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldOpenEventStreamWithForwardedHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "7");
+        headers.set("Last-Event-ID", "3");
+
+        ResponseEntity<ResponseBodyEmitter> response = eventStreams.open("/bookings/events", headers).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.TEXT_EVENT_STREAM, response.getHeaders().getContentType());
+        assertEquals("7", receivedUserId.get());
+        assertEquals("3", receivedLastEventId.get());
+    }
+
+    @Test
+    void shouldCountOpenStreamSeparatelyFromOutstandingRequests() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "7");
+
+        eventStreams.open("/bookings/events", headers).join();
+
+        ServerNode node = serverPool.getNodes().get(0);
+        assertEquals(0, node.getOutstanding());
+        assertEquals(1, node.getStreams());
+    }
+
+    @Test
+    void shouldKeepErrorStatus() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "404");
+
+        ResponseEntity<ResponseBodyEmitter> response = eventStreams.open("/bookings/events", headers).join();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+    }
+}
@@ -0,0 +1,153 @@
+package ru.practicum.shareit.common;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerPoolTest {
+    private HttpServer healthyServer;
+    private HttpServer unhealthyServer;
+    private final AtomicInteger unhealthyStatus = new AtomicInteger(503);
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        healthyServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        healthyServer.createContext("/actuator/health", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        healthyServer.start();
+
+        unhealthyServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        unhealthyServer.createContext("/actuator/health", exchange -> {
+            exchange.sendResponseHeaders(unhealthyStatus.get(), -1);
+            exchange.close();
+        });
+        unhealthyServer.start();
+    }
+
+    @AfterEach
+    void afterEach() {
+        healthyServer.stop(0);
+        unhealthyServer.stop(0);
+    }
+
+    @Test
+    void shouldPreferServerWithFewerOutstandingRequests() {
+        ServerPool serverPool = pool(url(healthyServer), url(unhealthyServer));
+        ServerNode busy = serverPool.acquire();
+
+        for (int i = 0; i < 20; i++) {
+            ServerNode node = serverPool.acquire();
+
+            assertNotSame(busy, node);
+            serverPool.release(node, false);
+        }
+
+        serverPool.release(busy, false);
+        assertEquals(0, busy.getOutstanding());
+    }
+
+    @Test
+    void shouldSkipServerFailingHealthCheck() {
+        ServerPool serverPool = pool(url(healthyServer), url(unhealthyServer));
+
+        serverPool.checkHealth();
+
+        assertTrue(serverPool.getNodes().get(0).isAvailable(System.currentTimeMillis()));
+        assertFalse(serverPool.getNodes().get(1).isAvailable(System.currentTimeMillis()));
+
+        for (int i = 0; i < 20; i++) {
+            ServerNode node = serverPool.acquire();
+
+            assertSame(serverPool.getNodes().get(0), node);
+            serverPool.release(node, false);
+        }
+
+        unhealthyStatus.set(200);
+        serverPool.checkHealth();
+
+        assertTrue(serverPool.getNodes().get(1).isAvailable(System.currentTimeMillis()));
+    }
+
+    @Test
+    void shouldMarkStoppedServerUnhealthy() {
+        ServerPool serverPool = pool(url(healthyServer), url(unhealthyServer));
+
+        healthyServer.stop(0);
+        unhealthyStatus.set(200);
+        serverPool.checkHealth();
+
+        assertFalse(serverPool.getNodes().get(0).isAvailable(System.currentTimeMillis()));
+        assertTrue(serverPool.getNodes().get(1).isAvailable(System.currentTimeMillis()));
+    }
+
+    @Test
+    void shouldEjectServerAfterConsecutiveFailures() {
+        ServerPool serverPool = pool(url(healthyServer), url(unhealthyServer));
+        ServerNode node = serverPool.getNodes().get(0);
+
+        serverPool.release(acquire(node), true);
+        serverPool.release(acquire(node), true);
+        serverPool.release(acquire(node), false);
+        serverPool.release(acquire(node), true);
+        serverPool.release(acquire(node), true);
+
+        assertTrue(node.isAvailable(System.currentTimeMillis()));
+
+        serverPool.release(acquire(node), true);
+
+        assertFalse(node.isAvailable(System.currentTimeMillis()));
+        assertSame(serverPool.getNodes().get(1), serverPool.acquire());
+    }
+
+    @Test
+    void shouldFailOpenWhenNoServerIsAvailable() {
+        ServerPool serverPool = pool(url(healthyServer), url(unhealthyServer));
+
+        healthyServer.stop(0);
+        serverPool.checkHealth();
+
+        ServerNode node = serverPool.acquire();
+
+        assertTrue(serverPool.getNodes().contains(node));
+    }
+
+    @Test
+    void shouldDetectServerFailureStatuses() {
+        assertTrue(ServerPool.isServerFailure(502));
+        assertTrue(ServerPool.isServerFailure(503));
+        assertTrue(ServerPool.isServerFailure(504));
+        assertFalse(ServerPool.isServerFailure(500));
+        assertFalse(ServerPool.isServerFailure(404));
+    }
+
+    private ServerPool pool(String... urls) {
+        return new ServerPool(List.of(urls), 3, Duration.ofMinutes(1), "/actuator/health",
+                Duration.ofSeconds(1), new SimpleMeterRegistry());
+    }
+
+    private ServerNode acquire(ServerNode node) {
+        node.acquire();
+
+        return node;
+    }
+
+    private String url(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+}
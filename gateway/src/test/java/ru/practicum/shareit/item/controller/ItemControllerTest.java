@@ -11,12 +11,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.dto.CommentDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
@@ -24,13 +27,16 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
@@ -81,16 +87,72 @@ class ItemControllerTest {
         String itemDTOJson = objectMapper.writeValueAsString(firstItemDTO);
 
         when(client.create(anyLong(), any(ItemDTO.class)))
-                .thenReturn(response);
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mvc.perform(post("/items")
+        MvcResult result = mvc.perform(post("/items")
                         .header(SHARER_USER_ID, 1)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(itemDTOJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().json(itemDTOJson));
     }
 
+    @Test
+    void shouldCreateItemsFromJsonArray() throws Exception {
+        List<ItemDTO> itemDTOs = List.of(firstItemDTO, secondItemDTO);
+        ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK)
+                .body(itemDTOs);
+
+        when(client.createBatch(1L, itemDTOs))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        MvcResult result = mvc.perform(post("/items/batch")
+                        .header(SHARER_USER_ID, 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemDTOs)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void shouldCreateItemsFromNdjsonStream() throws Exception {
+        List<ItemDTO> itemDTOs = List.of(firstItemDTO, secondItemDTO);
+        ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK)
+                .body(itemDTOs);
+
+        when(client.createBatch(1L, itemDTOs))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        MvcResult result = mvc.perform(post("/items/batch")
+                        .header(SHARER_USER_ID, 1)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(firstItemDTO) + "\n"
+                                + objectMapper.writeValueAsString(secondItemDTO) + "\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void shouldCreateItemsFromInvalidNdjsonStream() throws Exception {
+        mvc.perform(post("/items/batch")
+                        .header(SHARER_USER_ID, 1)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\": \"Item\"}\n{broken"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldReturnItemById() throws Exception {
         ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK)
@@ -99,11 +161,15 @@ class ItemControllerTest {
         String itemDTOJson = objectMapper.writeValueAsString(firstItemDTO);
 
         when(client.getById(anyLong(), anyLong()))
-                .thenReturn(response);
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mvc.perform(get("/items/1")
+        MvcResult result = mvc.perform(get("/items/1")
                         .header(SHARER_USER_ID, 1)
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().json(itemDTOJson));
     }
@@ -113,12 +179,16 @@ class ItemControllerTest {
         ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK)
                 .body(List.of(firstItemDTO, secondItemDTO));
 
-        when(client.getItemsByUserId(anyLong(), anyInt(), anyInt()))
-                .thenReturn(response);
+        when(client.getItemsByUserId(anyLong(), anyInt(), anyInt(), isNull()))
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mvc.perform(get("/items")
+        MvcResult result = mvc.perform(get("/items")
                         .header(SHARER_USER_ID, 1)
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[*].id", containsInAnyOrder(1, 2)))
@@ -127,20 +197,62 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[*].available", containsInAnyOrder(true, true)));
     }
 
+    @Test
+    void shouldReturnItemAvailability() throws Exception {
+        ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK)
+                .body(List.of(Map.of("start", "2030-01-01T00:00:00", "end", "2030-01-02T00:00:00")));
+
+        when(client.getAvailability(1L, 1L, LocalDateTime.of(2030, 1, 1, 0, 0), LocalDateTime.of(2030, 1, 2, 0, 0)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        MvcResult result = mvc.perform(get("/items/1/availability")
+                        .header(SHARER_USER_ID, 1)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-02T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].start").value("2030-01-01T00:00:00"));
+    }
+
     @Test
     void shouldSearchItemsByText() throws Exception {
         ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK)
                 .body(List.of(secondItemDTO));
 
         when(client.getItemsByText(anyString(), anyInt(), anyInt()))
-                .thenReturn(response);
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mvc.perform(get("/items/search").queryParam("text", "Second Item")
+        MvcResult result = mvc.perform(get("/items/search").queryParam("text", "Second Item")
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of(secondItemDTO))));
     }
 
+    @Test
+    void shouldSuggestItemNames() throws Exception {
+        ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK)
+                .body(List.of("Second Item"));
+
+        when(client.getSuggestions("sec", 10))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        MvcResult result = mvc.perform(get("/items/suggest").queryParam("prefix", "sec"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"Second Item\"]"));
+    }
+
     @Test
     void shouldUpdateAndReturnItem() throws Exception {
         ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK)
@@ -149,12 +261,16 @@ class ItemControllerTest {
         String itemDTOJson = objectMapper.writeValueAsString(firstItemDTO);
 
         when(client.update(anyLong(), anyLong(), any(ItemDTO.class)))
-                .thenReturn(response);
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mvc.perform(patch("/items/1")
+        MvcResult result = mvc.perform(patch("/items/1")
                         .header(SHARER_USER_ID, 1)
                         .content(itemDTOJson)
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().json(itemDTOJson));
     }
@@ -175,12 +291,16 @@ class ItemControllerTest {
         String commentDTOJson = objectMapper.writeValueAsString(commentDTO);
 
         when(client.createComment(anyLong(), anyLong(), any(CommentDTO.class)))
-                .thenReturn(response);
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mvc.perform(post("/items/1/comment")
+        MvcResult result = mvc.perform(post("/items/1/comment")
                         .header(SHARER_USER_ID, 1)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(commentDTOJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().json(commentDTOJson));
     }
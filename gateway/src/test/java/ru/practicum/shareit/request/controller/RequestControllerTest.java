@@ -11,18 +11,22 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.request.client.RequestClient;
 import ru.practicum.shareit.request.dto.RequestDTO;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(RequestController.class)
@@ -62,12 +66,16 @@ class RequestControllerTest {
         String requestDTOJson = objectMapper.writeValueAsString(firstRequestDTO);
 
         when(client.create(1L, firstRequestDTO))
-                .thenReturn(response);
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mvc.perform(post("/requests")
+        MvcResult result = mvc.perform(post("/requests")
                         .header(SHARER_USER_ID, 1)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestDTOJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().json(requestDTOJson));
     }
@@ -78,11 +86,15 @@ class RequestControllerTest {
                 .body(List.of(firstRequestDTO, secondRequestDTO));
 
         when(client.getRequestsByUserId(1L))
-                .thenReturn(response);
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mvc.perform(get("/requests")
+        MvcResult result = mvc.perform(get("/requests")
                         .header(SHARER_USER_ID, 1)
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[*].id", containsInAnyOrder(1, 2)))
@@ -94,14 +106,18 @@ class RequestControllerTest {
         ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK)
                 .body(List.of(firstRequestDTO, secondRequestDTO));
 
-        when(client.getRequestsByUserIdWithPagination(1L, 0, 10))
-                .thenReturn(response);
+        when(client.getRequestsByUserIdWithPagination(1L, 0, 10, null))
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mvc.perform(get("/requests/all")
+        MvcResult result = mvc.perform(get("/requests/all")
                         .param("from", "0")
                         .param("size", "10")
                         .header(SHARER_USER_ID, 1)
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[*].id", containsInAnyOrder(1, 2)))
@@ -116,11 +132,15 @@ class RequestControllerTest {
         String requestDTOJson = objectMapper.writeValueAsString(secondRequestDTO);
 
         when(client.getRequestById(1L, 2L))
-                .thenReturn(response);
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mvc.perform(get("/requests/" + 2)
+        MvcResult result = mvc.perform(get("/requests/" + 2)
                         .header(SHARER_USER_ID, 1)
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().json(requestDTOJson));
     }
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.conflict;
+
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingConflictIndex {
+    List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    void checkAvailability(long itemId, LocalDateTime start, LocalDateTime end);
+
+    void add(Booking booking);
+
+    void remove(Booking booking);
+
+    static boolean isActive(Booking booking) {
+        return ACTIVE_STATUSES.contains(booking.getStatus());
+    }
+}
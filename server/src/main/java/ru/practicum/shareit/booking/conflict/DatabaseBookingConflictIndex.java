@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.conflict;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking-conflicts.mode", havingValue = "database", matchIfMissing = true)
+public class DatabaseBookingConflictIndex implements BookingConflictIndex {
+    private final BookingRepository bookingRepository;
+
+    // Expects the caller's transaction to hold the item row lock, which serializes bookings of one item
+    // across all server instances.
+    @Override
+    public void checkAvailability(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingRepository.existsActiveOverlapping(itemId, ACTIVE_STATUSES, start, end)) {
+            throw new ValidationException("Item is already booked for these dates");
+        }
+    }
+
+    @Override
+    public void add(Booking booking) {
+    }
+
+    @Override
+    public void remove(Booking booking) {
+    }
+}
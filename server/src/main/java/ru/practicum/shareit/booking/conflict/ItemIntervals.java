@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking.conflict;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+public class ItemIntervals {
+    private static final Comparator<Interval> BY_START = Comparator
+            .comparing((Interval interval) -> interval.start)
+            .thenComparingLong(interval -> interval.id);
+
+    // Intervals in the sorted set never overlap each other, so they are ordered by end as well and only the
+    // last interval starting before a given end can reach into it. Intervals that already overlapped when they
+    // were added (only possible for data loaded from the database) are kept apart and checked one by one.
+    private final NavigableSet<Interval> intervals = new TreeSet<>(BY_START);
+    private final Map<Long, Interval> overlapping = new HashMap<>();
+    private final Map<Long, Interval> intervalsById = new HashMap<>();
+
+    public void add(long id, LocalDateTime start, LocalDateTime end) {
+        remove(id);
+
+        Interval interval = new Interval(id, start, end);
+
+        if (overlapsSorted(start, end)) {
+            overlapping.put(id, interval);
+        } else {
+            intervals.add(interval);
+        }
+
+        intervalsById.put(id, interval);
+    }
+
+    public void remove(long id) {
+        Interval interval = intervalsById.remove(id);
+
+        if (interval != null && overlapping.remove(id) == null) {
+            intervals.remove(interval);
+        }
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        if (overlapsSorted(start, end)) {
+            return true;
+        }
+
+        for (Interval candidate : overlapping.values()) {
+            if (candidate.start.isBefore(end) && candidate.end.isAfter(start)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public void removeEndedBefore(LocalDateTime time) {
+        while (!intervals.isEmpty() && intervals.first().end.isBefore(time)) {
+            intervalsById.remove(intervals.pollFirst().id);
+        }
+
+        overlapping.values().removeIf(interval -> {
+            if (interval.end.isBefore(time)) {
+                intervalsById.remove(interval.id);
+                return true;
+            }
+
+            return false;
+        });
+    }
+
+    public int size() {
+        return intervalsById.size();
+    }
+
+    private boolean overlapsSorted(LocalDateTime start, LocalDateTime end) {
+        Interval candidate = intervals.lower(new Interval(Long.MIN_VALUE, end, end));
+
+        return candidate != null && candidate.end.isAfter(start);
+    }
+
+    private static class Interval {
+        private final long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Interval(long id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
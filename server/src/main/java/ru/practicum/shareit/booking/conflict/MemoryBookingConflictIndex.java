@@ -0,0 +1,81 @@
+package ru.practicum.shareit.booking.conflict;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingIntervalDTO;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.LruCache;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.booking-conflicts.mode", havingValue = "memory")
+public class MemoryBookingConflictIndex implements BookingConflictIndex {
+    private static final Logger log = LoggerFactory.getLogger(MemoryBookingConflictIndex.class);
+    private final BookingRepository bookingRepository;
+    private final LruCache<Long, ItemIntervals> intervalsByItemId;
+
+    @Autowired
+    public MemoryBookingConflictIndex(BookingRepository bookingRepository,
+                                      @Value("${shareit.booking-conflicts.max-items}") int maxItems,
+                                      @Value("${shareit.booking-conflicts.ttl}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.intervalsByItemId = new LruCache<>(maxItems, ttl);
+    }
+
+    // All methods expect the caller to hold the item lock from BookingService, so a single item's
+    // intervals are never loaded or modified concurrently. Bookings written by other server instances
+    // are not seen, so this mode is only correct for a single instance. Items evicted by size or age are
+    // loaded from the database again on their next booking.
+    @Override
+    public void checkAvailability(long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals intervals = getIntervals(itemId);
+        intervals.removeEndedBefore(LocalDateTime.now());
+
+        if (intervals.overlaps(start, end)) {
+            throw new ValidationException("Item is already booked for these dates");
+        }
+    }
+
+    @Override
+    public void add(Booking booking) {
+        getIntervals(booking.getItem().getId()).add(booking.getId(), booking.getStart(), booking.getEnd());
+    }
+
+    @Override
+    public void remove(Booking booking) {
+        ItemIntervals intervals = intervalsByItemId.get(booking.getItem().getId());
+
+        if (intervals != null) {
+            intervals.remove(booking.getId());
+        }
+    }
+
+    private ItemIntervals getIntervals(long itemId) {
+        ItemIntervals intervals = intervalsByItemId.get(itemId);
+
+        if (intervals == null) {
+            intervals = new ItemIntervals();
+
+            List<BookingIntervalDTO> bookings = bookingRepository
+                    .findActiveIntervalsByItemId(itemId, ACTIVE_STATUSES, LocalDateTime.now());
+
+            for (BookingIntervalDTO booking : bookings) {
+                intervals.add(booking.getId(), booking.getStart(), booking.getEnd());
+            }
+
+            intervalsByItemId.put(itemId, intervals);
+            log.debug("Loaded {} booking intervals for item {}", bookings.size(), itemId);
+        }
+
+        return intervals;
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,9 +13,13 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.dto.BookingDTO;
+import ru.practicum.shareit.booking.dto.BookingSummaryDTO;
+import ru.practicum.shareit.booking.dto.BookingViewDTO;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.common.MyPageRequest;
+import ru.practicum.shareit.common.PageCursor;
 
 import java.util.List;
 
@@ -22,6 +28,7 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 public class BookingController {
     private static final String SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
     private final BookingService bookingService;
 
     @PostMapping
@@ -36,6 +43,22 @@ public class BookingController {
         return bookingService.changeStatus(userId, bookingId, status);
     }
 
+    @GetMapping("/summary")
+    public BookingSummaryDTO getSummary(@RequestHeader(SHARER_USER_ID) long userId) {
+        return bookingService.getBookerSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingSummaryDTO getOwnerSummary(@RequestHeader(SHARER_USER_ID) long userId) {
+        return bookingService.getOwnerSummary(userId);
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(SHARER_USER_ID) long userId,
+                                @RequestHeader(name = LAST_EVENT_ID, required = false) Long lastEventId) {
+        return bookingService.subscribe(userId, lastEventId);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDTO getBooking(@RequestHeader(SHARER_USER_ID) long userId,
                                  @PathVariable long bookingId) {
@@ -43,18 +66,36 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDTO> getAll(@RequestHeader(SHARER_USER_ID) long userId,
-                                   @RequestParam(defaultValue = "ALL") String state,
-                                   @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                   @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        return bookingService.getAllByBookerId(userId, state, new MyPageRequest(from, size, Sort.unsorted()));
+    public ResponseEntity<List<BookingViewDTO>> getAll(@RequestHeader(SHARER_USER_ID) long userId,
+                                                   @RequestParam(defaultValue = "ALL") String state,
+                                                   @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                   @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                   @RequestParam(required = false) String after) {
+        List<BookingViewDTO> bookings = after == null
+                ? bookingService.getAllByBookerId(userId, state, new MyPageRequest(from, size, Sort.unsorted()))
+                : bookingService.getAllByBookerId(userId, state, PageCursor.decode(after), size);
+
+        return toResponse(bookings, state, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDTO> getAllByOwner(@RequestHeader(SHARER_USER_ID) long userId,
-                                          @RequestParam(defaultValue = "ALL") String state,
-                                          @RequestParam(defaultValue = "0", required = false) Integer from,
-                                          @RequestParam(defaultValue = "10", required = false) Integer size) {
-        return bookingService.getAllByOwnerId(userId, state, new MyPageRequest(from, size, Sort.unsorted()));
+    public ResponseEntity<List<BookingViewDTO>> getAllByOwner(@RequestHeader(SHARER_USER_ID) long userId,
+                                                          @RequestParam(defaultValue = "ALL") String state,
+                                                          @RequestParam(defaultValue = "0", required = false) Integer from,
+                                                          @RequestParam(defaultValue = "10", required = false) Integer size,
+                                                          @RequestParam(required = false) String after) {
+        List<BookingViewDTO> bookings = after == null
+                ? bookingService.getAllByOwnerId(userId, state, new MyPageRequest(from, size, Sort.unsorted()))
+                : bookingService.getAllByOwnerId(userId, state, PageCursor.decode(after), size);
+
+        return toResponse(bookings, state, size);
+    }
+
+    private ResponseEntity<List<BookingViewDTO>> toResponse(List<BookingViewDTO> bookings, String state, int size) {
+        if (!"ALL".equals(state)) {
+            return ResponseEntity.ok(bookings);
+        }
+
+        return PageCursor.toResponse(bookings, size, booking -> PageCursor.of(booking.getStart(), booking.getId()));
     }
 }
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.booking.counter;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import java.io.Serializable;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "booking_counters")
+@IdClass(BookingCounter.Key.class)
+public class BookingCounter {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "role")
+    @Enumerated(value = EnumType.STRING)
+    private BookingRole role;
+
+    @Column(name = "all_count")
+    private long allCount;
+
+    @Column(name = "current_count")
+    private long currentCount;
+
+    @Column(name = "past_count")
+    private long pastCount;
+
+    @Column(name = "future_count")
+    private long futureCount;
+
+    @Column(name = "waiting_count")
+    private long waitingCount;
+
+    @Column(name = "rejected_count")
+    private long rejectedCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private BookingRole role;
+    }
+}
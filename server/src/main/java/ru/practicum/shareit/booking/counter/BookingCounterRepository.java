@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.counter;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingCounterRepository extends JpaRepository<BookingCounter, BookingCounter.Key> {
+    long countByUserId(long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT counter FROM BookingCounter AS counter " +
+            "WHERE counter.userId IN ?1 " +
+            "ORDER BY counter.userId, counter.role")
+    List<BookingCounter> findAllForUpdate(Collection<Long> userIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BookingCounter AS counter SET " +
+            "counter.allCount = counter.allCount + ?3, " +
+            "counter.currentCount = counter.currentCount + ?4, " +
+            "counter.pastCount = counter.pastCount + ?5, " +
+            "counter.futureCount = counter.futureCount + ?6, " +
+            "counter.waitingCount = counter.waitingCount + ?7, " +
+            "counter.rejectedCount = counter.rejectedCount + ?8 " +
+            "WHERE counter.userId = ?1 AND counter.role = ?2")
+    int addCounts(long userId, BookingRole role, long all, long current, long past, long future,
+                  long waiting, long rejected);
+}
@@ -0,0 +1,240 @@
+package ru.practicum.shareit.booking.counter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingPeriodDTO;
+import ru.practicum.shareit.booking.dto.BookingSummaryDTO;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class BookingCounterService {
+    private static final Logger log = LoggerFactory.getLogger(BookingCounterService.class);
+    private static final long SWEEP_ID = 1L;
+    private final BookingCounterRepository bookingCounterRepository;
+    private final BookingCounterSweepRepository bookingCounterSweepRepository;
+    private final BookingRepository bookingRepository;
+    private final Duration sweepLag;
+
+    @Autowired
+    public BookingCounterService(BookingCounterRepository bookingCounterRepository,
+                                 BookingCounterSweepRepository bookingCounterSweepRepository,
+                                 BookingRepository bookingRepository,
+                                 @Value("${shareit.booking-counters.sweep-lag}") Duration sweepLag) {
+        this.bookingCounterRepository = bookingCounterRepository;
+        this.bookingCounterSweepRepository = bookingCounterSweepRepository;
+        this.bookingRepository = bookingRepository;
+        this.sweepLag = sweepLag;
+    }
+
+    public Optional<BookingSummaryDTO> findSummary(long userId, BookingRole role) {
+        return bookingCounterRepository.findById(new BookingCounter.Key(userId, role))
+                .map(BookingCounterService::toSummary);
+    }
+
+    @Transactional
+    public void ensureCounters(Collection<Long> userIds) {
+        Set<Long> missing = new HashSet<>();
+
+        for (Long userId : userIds) {
+            if (bookingCounterRepository.countByUserId(userId) < BookingRole.values().length) {
+                missing.add(userId);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime sweptAt = lockSweep().getSweptAt();
+
+        for (Long userId : missing) {
+            for (BookingRole role : BookingRole.values()) {
+                if (!bookingCounterRepository.existsById(new BookingCounter.Key(userId, role))) {
+                    bookingCounterRepository.save(toCounter(userId, role, count(userId, role, sweptAt)));
+                }
+            }
+        }
+    }
+
+    public void recordCreated(Booking booking) {
+        long waiting = booking.getStatus() == BookingStatus.WAITING ? 1 : 0;
+
+        bookingCounterRepository.addCounts(booking.getBooker().getId(), BookingRole.BOOKER, 1, 0, 0, 1, waiting, 0);
+        bookingCounterRepository.addCounts(booking.getItem().getOwner().getId(), BookingRole.OWNER, 1, 0, 0, 1, waiting, 0);
+    }
+
+    public void recordStatusChange(Booking booking, BookingStatus previousStatus) {
+        long waiting = statusCount(booking.getStatus(), BookingStatus.WAITING)
+                - statusCount(previousStatus, BookingStatus.WAITING);
+        long rejected = statusCount(booking.getStatus(), BookingStatus.REJECTED)
+                - statusCount(previousStatus, BookingStatus.REJECTED);
+
+        if (waiting == 0 && rejected == 0) {
+            return;
+        }
+
+        bookingCounterRepository.addCounts(booking.getBooker().getId(), BookingRole.BOOKER, 0, 0, 0, 0,
+                waiting, rejected);
+        bookingCounterRepository.addCounts(booking.getItem().getOwner().getId(), BookingRole.OWNER, 0, 0, 0, 0,
+                waiting, rejected);
+    }
+
+    public void recordExpired(Collection<Booking> bookings) {
+        Map<BookingCounter.Key, Long> expired = new HashMap<>();
+
+        for (Booking booking : bookings) {
+            expired.merge(new BookingCounter.Key(booking.getBooker().getId(), BookingRole.BOOKER), 1L, Long::sum);
+            expired.merge(new BookingCounter.Key(booking.getItem().getOwner().getId(), BookingRole.OWNER), 1L,
+                    Long::sum);
+        }
+
+        expired.forEach((key, count) -> bookingCounterRepository.addCounts(key.getUserId(), key.getRole(), 0, 0, 0,
+                0, -count, 0));
+    }
+
+    public Set<Long> findUsersAffectedByItem(long itemId) {
+        Set<Long> userIds = new HashSet<>(bookingRepository.findBookerIdsByItemId(itemId));
+        userIds.addAll(bookingRepository.findOwnerIdsByItemId(itemId));
+
+        return userIds;
+    }
+
+    public Set<Long> findUsersAffectedByUser(long userId) {
+        Set<Long> userIds = new HashSet<>(bookingRepository.findBookerIdsByOwnerId(userId));
+        userIds.addAll(bookingRepository.findOwnerIdsByBookerId(userId));
+        userIds.remove(userId);
+
+        return userIds;
+    }
+
+    @Transactional
+    public void recount(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime sweptAt = lockSweep().getSweptAt();
+
+        // The counter rows are locked before counting, so a booking write that already applied its delta
+        // commits before the count, and one that has not yet applied it waits for the recount to commit.
+        for (BookingCounter counter : bookingCounterRepository.findAllForUpdate(userIds)) {
+            bookingCounterRepository.save(toCounter(counter.getUserId(), counter.getRole(),
+                    count(counter.getUserId(), counter.getRole(), sweptAt)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-counters.sweep-interval}")
+    @Transactional
+    public void sweep() {
+        BookingCounterSweep sweep = lockSweep();
+        LocalDateTime from = sweep.getSweptAt();
+        LocalDateTime to = LocalDateTime.now().minus(sweepLag);
+
+        if (!to.isAfter(from)) {
+            return;
+        }
+
+        Map<BookingCounter.Key, BookingSummaryDTO> deltas = new HashMap<>();
+
+        for (BookingPeriodDTO period : bookingRepository.findAllPeriodsCrossing(from, to)) {
+            TimeState previous = TimeState.of(period, from);
+            TimeState current = TimeState.of(period, to);
+
+            for (BookingCounter.Key key : new BookingCounter.Key[]{
+                    new BookingCounter.Key(period.getBookerId(), BookingRole.BOOKER),
+                    new BookingCounter.Key(period.getOwnerId(), BookingRole.OWNER)}) {
+                BookingSummaryDTO delta = deltas.computeIfAbsent(key, k -> new BookingSummaryDTO());
+                previous.add(delta, -1);
+                current.add(delta, 1);
+            }
+        }
+
+        deltas.forEach((key, delta) -> bookingCounterRepository.addCounts(key.getUserId(), key.getRole(), 0,
+                delta.getCurrent(), delta.getPast(), delta.getFuture(), 0, 0));
+        sweep.setSweptAt(to);
+
+        log.debug("Swept booking counters from {} to {}, {} counters changed", from, to, deltas.size());
+    }
+
+    private BookingCounterSweep lockSweep() {
+        return bookingCounterSweepRepository.findForUpdate(SWEEP_ID)
+                .orElseThrow(() -> new IllegalStateException("Booking counter sweep is not initialized"));
+    }
+
+    private BookingSummaryDTO count(long userId, BookingRole role, LocalDateTime time) {
+        return role == BookingRole.BOOKER
+                ? bookingRepository.countByBooker(userId, time)
+                : bookingRepository.countByOwner(userId, time);
+    }
+
+    private static long statusCount(BookingStatus status, BookingStatus counted) {
+        return status == counted ? 1 : 0;
+    }
+
+    private static BookingCounter toCounter(long userId, BookingRole role, BookingSummaryDTO summary) {
+        return BookingCounter.builder()
+                .userId(userId)
+                .role(role)
+                .allCount(summary.getAll())
+                .currentCount(summary.getCurrent())
+                .pastCount(summary.getPast())
+                .futureCount(summary.getFuture())
+                .waitingCount(summary.getWaiting())
+                .rejectedCount(summary.getRejected())
+                .build();
+    }
+
+    private static BookingSummaryDTO toSummary(BookingCounter counter) {
+        return BookingSummaryDTO.builder()
+                .all(counter.getAllCount())
+                .current(counter.getCurrentCount())
+                .past(counter.getPastCount())
+                .future(counter.getFutureCount())
+                .waiting(counter.getWaitingCount())
+                .rejected(counter.getRejectedCount())
+                .build();
+    }
+
+    private enum TimeState {
+        CURRENT,
+        PAST,
+        FUTURE;
+
+        static TimeState of(BookingPeriodDTO period, LocalDateTime time) {
+            if (period.getStart().isAfter(time)) {
+                return FUTURE;
+            }
+
+            return period.getEnd().isBefore(time) ? PAST : CURRENT;
+        }
+
+        void add(BookingSummaryDTO summary, long count) {
+            switch (this) {
+                case CURRENT:
+                    summary.setCurrent(summary.getCurrent() + count);
+                    break;
+                case PAST:
+                    summary.setPast(summary.getPast() + count);
+                    break;
+                default:
+                    summary.setFuture(summary.getFuture() + count);
+            }
+        }
+    }
+}
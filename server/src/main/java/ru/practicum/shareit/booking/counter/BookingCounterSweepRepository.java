@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.counter;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+public interface BookingCounterSweepRepository extends JpaRepository<BookingCounterSweep, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sweep FROM BookingCounterSweep AS sweep WHERE sweep.id = ?1")
+    Optional<BookingCounterSweep> findForUpdate(long id);
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.counter;
+
+public enum BookingRole {
+    BOOKER,
+    OWNER
+}
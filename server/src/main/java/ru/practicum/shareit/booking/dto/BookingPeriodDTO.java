@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class BookingPeriodDTO {
+    private Long bookerId;
+    private Long ownerId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
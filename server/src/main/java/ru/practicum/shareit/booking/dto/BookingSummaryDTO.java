@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSummaryDTO {
+    private long all;
+    private long current;
+    private long past;
+    private long future;
+    private long waiting;
+    private long rejected;
+
+    public BookingSummaryDTO(Long all, Long current, Long past, Long future, Long waiting, Long rejected) {
+        this(valueOf(all), valueOf(current), valueOf(past), valueOf(future), valueOf(waiting), valueOf(rejected));
+    }
+
+    private static long valueOf(Long count) {
+        return count != null ? count : 0;
+    }
+}
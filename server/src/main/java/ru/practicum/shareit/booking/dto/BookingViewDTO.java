@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class BookingViewDTO {
+    private Long id;
+    private Long itemId;
+    private ItemView item;
+    private BookerView booker;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+
+    public BookingViewDTO(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                          Long itemId, String itemName, Long bookerId) {
+        this.id = id;
+        this.itemId = itemId;
+        this.item = new ItemView(itemId, itemName);
+        this.booker = new BookerView(bookerId);
+        this.start = start;
+        this.end = end;
+        this.status = status;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemView {
+        private Long id;
+        private String name;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BookerView {
+        private Long id;
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking.expiry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingIntervalDTO;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.TimingWheel;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class BookingExpiryWheel {
+    private static final Logger log = LoggerFactory.getLogger(BookingExpiryWheel.class);
+    private final BookingRepository bookingRepository;
+    private final TimingWheel<Long> wheel;
+    private final Duration horizon;
+    private final Set<Long> scheduledIds = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public BookingExpiryWheel(BookingRepository bookingRepository,
+                              @Value("${shareit.booking-expiry.tick}") Duration tick,
+                              @Value("${shareit.booking-expiry.wheel-size}") int wheelSize) {
+        this.bookingRepository = bookingRepository;
+        this.wheel = new TimingWheel<>(tick, wheelSize, System.currentTimeMillis());
+        this.horizon = tick.multipliedBy(wheelSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Scheduled expiry of {} waiting bookings", resync());
+    }
+
+    // Picks up bookings created by other server instances, whose registrations never reach this wheel,
+    // and bookings that were too far in the future to be registered when they were created.
+    @Scheduled(fixedDelayString = "${shareit.booking-expiry.resync-interval}")
+    public int resync() {
+        int registered = 0;
+        List<BookingIntervalDTO> bookings = bookingRepository
+                .findAllIntervalsByStatusStartingBefore(BookingStatus.WAITING, LocalDateTime.now().plus(horizon));
+
+        for (BookingIntervalDTO booking : bookings) {
+            if (register(booking.getId(), booking.getStart())) {
+                registered++;
+            }
+        }
+
+        return registered;
+    }
+
+    // Only bookings starting within one wheel rotation are kept in memory; resync registers the rest later.
+    public boolean register(long bookingId, LocalDateTime start) {
+        if (start.isAfter(LocalDateTime.now().plus(horizon)) || !scheduledIds.add(bookingId)) {
+            return false;
+        }
+
+        wheel.schedule(bookingId, toMillis(start));
+        return true;
+    }
+
+    public List<Long> pollExpired(LocalDateTime currentTime) {
+        List<Long> expired = wheel.advance(toMillis(currentTime));
+
+        expired.forEach(scheduledIds::remove);
+        return expired;
+    }
+
+    public int size() {
+        return wheel.size();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
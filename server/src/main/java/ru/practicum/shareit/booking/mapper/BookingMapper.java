@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.mapper;
 
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingDTO;
+import ru.practicum.shareit.booking.dto.ItemBookingDTO;
 import ru.practicum.shareit.booking.dto.SimplifiedBookingDTO;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.common.BaseMapper;
@@ -45,4 +46,11 @@ public class BookingMapper implements BaseMapper<BookingDTO, Booking> {
                 .bookerId(booking.getBooker().getId())
                 .build();
     }
+
+    public SimplifiedBookingDTO toSimpleDTO(ItemBookingDTO booking) {
+        return SimplifiedBookingDTO.builder()
+                .id(booking.getId())
+                .bookerId(booking.getBookerId())
+                .build();
+    }
 }
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class BookingEventOutbox {
+    private final BookingEventRepository bookingEventRepository;
+
+    @Autowired
+    public BookingEventOutbox(BookingEventRepository bookingEventRepository) {
+        this.bookingEventRepository = bookingEventRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Booking booking) {
+        bookingEventRepository.save(toEvent(booking, LocalDateTime.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Collection<Booking> bookings) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<BookingEvent> events = bookings.stream()
+                .map(booking -> toEvent(booking, createdAt))
+                .collect(Collectors.toList());
+
+        bookingEventRepository.saveAll(events);
+    }
+
+    private static BookingEvent toEvent(Booking booking, LocalDateTime createdAt) {
+        return BookingEvent.builder()
+                .bookingId(booking.getId())
+                .itemId(booking.getItem().getId())
+                .bookerId(booking.getBooker().getId())
+                .ownerId(booking.getItem().getOwner().getId())
+                .status(booking.getStatus())
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,350 @@
+package ru.practicum.shareit.booking.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingEventDTO;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Component
+public class BookingEventRelay {
+    private static final Logger log = LoggerFactory.getLogger(BookingEventRelay.class);
+    private static final String EVENT_NAME = "booking";
+    private static final int MAX_SKIPPED_IDS = 10_000;
+    private final BookingEventRepository bookingEventRepository;
+    private final int batchSize;
+    private final Duration gapTimeout;
+    private final Duration gapRetry;
+    private final Duration retention;
+    private final Duration emitterTimeout;
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // Ids skipped at a gap that timed out, with the time they were skipped; only the relay thread uses it.
+    private final Map<Long, LocalDateTime> skippedIds = new LinkedHashMap<>();
+    private Long lastEventId;
+
+    @Autowired
+    public BookingEventRelay(BookingEventRepository bookingEventRepository,
+                             @Value("${shareit.booking-events.batch-size}") int batchSize,
+                             @Value("${shareit.booking-events.gap-timeout}") Duration gapTimeout,
+                             @Value("${shareit.booking-events.gap-retry}") Duration gapRetry,
+                             @Value("${shareit.booking-events.retention}") Duration retention,
+                             @Value("${shareit.booking-events.emitter-timeout}") Duration emitterTimeout) {
+        this.bookingEventRepository = bookingEventRepository;
+        this.batchSize = batchSize;
+        this.gapTimeout = gapTimeout;
+        this.gapRetry = gapRetry;
+        this.retention = retention;
+        this.emitterTimeout = emitterTimeout;
+    }
+
+    // Only the cursor snapshot and the registration happen under the relay lock. The subscriber buffers
+    // relayed events until its replay up to that snapshot has been sent, so no event is lost.
+    public SseEmitter subscribe(long userId, @Nullable Long lastSeenEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        long relayedEventId;
+
+        synchronized (this) {
+            relayedEventId = cursor();
+            subscribers.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>()).add(subscriber);
+        }
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        if (lastSeenEventId != null && !replay(emitter, userId, lastSeenEventId, relayedEventId)) {
+            unsubscribe(subscriber);
+            return emitter;
+        }
+
+        if (!subscriber.startLive()) {
+            unsubscribe(subscriber);
+        }
+
+        return emitter;
+    }
+
+    // Events are read outside the relay lock; only advancing the cursor together with picking the subscribers
+    // to deliver to is locked, so subscribe does not wait for the relay's queries.
+    @Scheduled(fixedDelayString = "${shareit.booking-events.relay-interval}")
+    public void relay() {
+        List<Delivery> deliveries = new ArrayList<>();
+        long cursor;
+
+        synchronized (this) {
+            cursor = cursor();
+        }
+
+        retrySkipped(deliveries);
+
+        if (subscribers.isEmpty()) {
+            skipToLatest();
+        } else {
+            collectDeliveries(cursor, deliveries);
+        }
+
+        for (Delivery delivery : deliveries) {
+            if (!delivery.subscriber.deliver(delivery.event)) {
+                unsubscribe(delivery.subscriber);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-events.heartbeat-interval}")
+    public void heartbeat() {
+        subscribers.values().forEach(userSubscribers -> {
+            for (Subscriber subscriber : userSubscribers) {
+                try {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(subscriber);
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-events.cleanup-interval}")
+    public void cleanup() {
+        int deleted = bookingEventRepository.deleteAllCreatedBefore(LocalDateTime.now().minus(retention));
+
+        if (deleted > 0) {
+            log.info("Deleted {} booking events older than {}", deleted, retention);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream()
+                .mapToInt(List::size)
+                .sum();
+    }
+
+    private long cursor() {
+        if (lastEventId == null) {
+            lastEventId = bookingEventRepository.findMaxId();
+        }
+
+        return lastEventId;
+    }
+
+    private void skipToLatest() {
+        long maxId = bookingEventRepository.findMaxId();
+
+        synchronized (this) {
+            if (subscribers.isEmpty()) {
+                lastEventId = Math.max(lastEventId, maxId);
+            }
+        }
+    }
+
+    private void collectDeliveries(long cursor, List<Delivery> deliveries) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime gapDeadline = now.minus(gapTimeout);
+        int relayed = 0;
+        List<BookingEvent> events;
+
+        do {
+            events = bookingEventRepository.findAllByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, batchSize));
+            List<BookingEvent> ready = new ArrayList<>();
+
+            for (BookingEvent event : events) {
+                if (event.getId() != cursor + 1) {
+                    if (event.getCreatedAt().isAfter(gapDeadline)) {
+                        log.debug("Waiting for booking events after {} to commit", cursor);
+                        events = List.of();
+                        break;
+                    }
+
+                    skip(cursor + 1, event.getId() - 1, now);
+                }
+
+                ready.add(event);
+                cursor = event.getId();
+            }
+
+            synchronized (this) {
+                for (BookingEvent event : ready) {
+                    addDeliveries(deliveries, event);
+                }
+
+                lastEventId = Math.max(lastEventId, cursor);
+            }
+
+            relayed += ready.size();
+        } while (events.size() == batchSize);
+
+        if (relayed > 0) {
+            log.debug("Relayed {} booking events up to {}", relayed, cursor);
+        }
+    }
+
+    private void skip(long fromId, long toId, LocalDateTime now) {
+        log.warn("Skipping booking events {}..{} that did not commit within {}, retrying them for {}",
+                fromId, toId, gapTimeout, gapRetry);
+
+        for (long id = fromId; id <= toId; id++) {
+            if (skippedIds.size() >= MAX_SKIPPED_IDS) {
+                log.warn("Too many skipped booking events, events {}..{} will not be relayed", id, toId);
+                return;
+            }
+
+            skippedIds.put(id, now);
+        }
+    }
+
+    // A skipped event that commits late is sent to the current subscribers out of order. A subscriber that
+    // replayed its range after the commit may get it twice; SSE clients tell the copies apart by id.
+    private void retrySkipped(List<Delivery> deliveries) {
+        if (skippedIds.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime retryDeadline = LocalDateTime.now().minus(gapRetry);
+        Iterator<Map.Entry<Long, LocalDateTime>> iterator = skippedIds.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<Long, LocalDateTime> skipped = iterator.next();
+
+            if (skipped.getValue().isBefore(retryDeadline)) {
+                log.warn("Booking event {} did not commit within {}, giving up on it", skipped.getKey(), gapRetry);
+                iterator.remove();
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(skippedIds.keySet());
+
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<BookingEvent> events = bookingEventRepository
+                    .findAllByIdInOrderByIdAsc(ids.subList(from, Math.min(from + batchSize, ids.size())));
+
+            synchronized (this) {
+                for (BookingEvent event : events) {
+                    log.info("Relaying booking event {} that committed after it was skipped", event.getId());
+                    skippedIds.remove(event.getId());
+                    addDeliveries(deliveries, event);
+                }
+            }
+        }
+    }
+
+    private void addDeliveries(List<Delivery> deliveries, BookingEvent event) {
+        addDeliveries(deliveries, event.getBookerId(), event);
+        addDeliveries(deliveries, event.getOwnerId(), event);
+    }
+
+    private void addDeliveries(List<Delivery> deliveries, long userId, BookingEvent event) {
+        List<Subscriber> userSubscribers = subscribers.get(userId);
+
+        if (userSubscribers == null) {
+            return;
+        }
+
+        for (Subscriber subscriber : userSubscribers) {
+            deliveries.add(new Delivery(subscriber, event));
+        }
+    }
+
+    private boolean replay(SseEmitter emitter, long userId, long afterId, long untilId) {
+        List<BookingEvent> events;
+
+        do {
+            events = bookingEventRepository.findAllByUserBetween(userId, afterId, untilId,
+                    PageRequest.of(0, batchSize));
+
+            for (BookingEvent event : events) {
+                if (!send(emitter, event)) {
+                    return false;
+                }
+
+                afterId = event.getId();
+            }
+        } while (events.size() == batchSize);
+
+        return true;
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private static boolean send(SseEmitter emitter, BookingEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.getId()))
+                    .name(EVENT_NAME)
+                    .data(toDTO(event)));
+
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+
+            return false;
+        }
+    }
+
+    private static BookingEventDTO toDTO(BookingEvent event) {
+        return BookingEventDTO.builder()
+                .bookingId(event.getBookingId())
+                .itemId(event.getItemId())
+                .status(event.getStatus())
+                .changedAt(event.getCreatedAt())
+                .build();
+    }
+
+    @RequiredArgsConstructor
+    private static class Subscriber {
+        private final long userId;
+        private final SseEmitter emitter;
+        private List<BookingEvent> pending = new ArrayList<>();
+
+        synchronized boolean deliver(BookingEvent event) {
+            if (pending != null) {
+                pending.add(event);
+                return true;
+            }
+
+            return send(emitter, event);
+        }
+
+        synchronized boolean startLive() {
+            List<BookingEvent> replayed = pending;
+            pending = null;
+
+            for (BookingEvent event : replayed) {
+                if (!send(emitter, event)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Delivery {
+        private final Subscriber subscriber;
+        private final BookingEvent event;
+    }
+}
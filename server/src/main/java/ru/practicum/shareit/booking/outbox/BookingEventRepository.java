@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+    @Query("SELECT COALESCE(MAX(event.id), 0) FROM BookingEvent AS event")
+    long findMaxId();
+
+    List<BookingEvent> findAllByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    List<BookingEvent> findAllByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT event FROM BookingEvent AS event " +
+            "WHERE (event.bookerId = ?1 OR event.ownerId = ?1) AND event.id > ?2 AND event.id <= ?3 " +
+            "ORDER BY event.id")
+    List<BookingEvent> findAllByUserBetween(long userId, long afterId, long untilId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BookingEvent AS event WHERE event.createdAt < ?1")
+    int deleteAllCreatedBefore(LocalDateTime time);
+}
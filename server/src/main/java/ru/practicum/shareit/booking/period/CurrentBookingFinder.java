@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.period;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingViewDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CurrentBookingFinder {
+    List<BookingViewDTO> findByBooker(long userId, LocalDateTime currentTime, Pageable pageable);
+
+    List<BookingViewDTO> findByOwner(long userId, LocalDateTime currentTime, Pageable pageable);
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.period;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingViewDTO;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking-period.mode", havingValue = "range")
+public class RangeCurrentBookingFinder implements CurrentBookingFinder {
+    private final BookingRepository bookingRepository;
+
+    @Override
+    public List<BookingViewDTO> findByBooker(long userId, LocalDateTime currentTime, Pageable pageable) {
+        return findViews(bookingRepository.findIdsByBookerPeriodContaining(userId, currentTime, pageable));
+    }
+
+    @Override
+    public List<BookingViewDTO> findByOwner(long userId, LocalDateTime currentTime, Pageable pageable) {
+        return findViews(bookingRepository.findIdsByOwnerPeriodContaining(userId, currentTime, pageable));
+    }
+
+    private List<BookingViewDTO> findViews(List<Long> ids) {
+        return ids.isEmpty() ? List.of() : bookingRepository.findAllViewsByIdIn(ids);
+    }
+}
@@ -1,94 +1,269 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingIntervalDTO;
+import ru.practicum.shareit.booking.dto.BookingPeriodDTO;
+import ru.practicum.shareit.booking.dto.BookingSummaryDTO;
+import ru.practicum.shareit.booking.dto.BookingViewDTO;
+import ru.practicum.shareit.booking.dto.ItemBookingDTO;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBookerIdOrderByStartDesc(long userId, Pageable pageable);
+    @Override
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Optional<Booking> findById(Long id);
 
-    @Query("SELECT all_booking " +
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingViewDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end, all_booking.status, " +
+            "all_booking.item.id, all_booking.item.name, all_booking.booker.id) " +
+            "FROM Booking AS all_booking " +
+            "WHERE all_booking.booker.id = ?1 " +
+            "ORDER BY all_booking.start DESC, all_booking.id DESC")
+    List<BookingViewDTO> findAllByBookerIdOrderByStartDesc(long userId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingViewDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end, all_booking.status, " +
+            "all_booking.item.id, all_booking.item.name, all_booking.booker.id) " +
+            "FROM Booking AS all_booking " +
+            "WHERE all_booking.booker.id = ?1 " +
+            "AND (all_booking.start < ?2 OR (all_booking.start = ?2 AND all_booking.id < ?3)) " +
+            "ORDER BY all_booking.start DESC, all_booking.id DESC")
+    List<BookingViewDTO> findAllByBookerIdAfter(long userId, LocalDateTime start, long id, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingViewDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end, all_booking.status, " +
+            "all_booking.item.id, all_booking.item.name, all_booking.booker.id) " +
             "FROM Booking AS all_booking " +
             "WHERE all_booking.booker.id = ?1 " +
             "AND (?2 BETWEEN all_booking.start AND all_booking.end) " +
-            "ORDER BY all_booking.start DESC")
-    List<Booking> findAllByBookerCurrentState(long userId, LocalDateTime currentTime, Pageable pageable);
+            "ORDER BY all_booking.start DESC, all_booking.id DESC")
+    List<BookingViewDTO> findAllByBookerCurrentState(long userId, LocalDateTime currentTime, Pageable pageable);
 
-    @Query("SELECT all_booking " +
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingViewDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end, all_booking.status, " +
+            "all_booking.item.id, all_booking.item.name, all_booking.booker.id) " +
             "FROM Booking AS all_booking " +
             "WHERE all_booking.booker.id = ?1 " +
             "AND all_booking.end < ?2 " +
-            "ORDER BY all_booking.start DESC")
-    List<Booking> findAllByBookerPastState(long userId, LocalDateTime currentTime, Pageable pageable);
+            "ORDER BY all_booking.start DESC, all_booking.id DESC")
+    List<BookingViewDTO> findAllByBookerPastState(long userId, LocalDateTime currentTime, Pageable pageable);
 
-    @Query("SELECT all_booking " +
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingViewDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end, all_booking.status, " +
+            "all_booking.item.id, all_booking.item.name, all_booking.booker.id) " +
             "FROM Booking AS all_booking " +
             "WHERE all_booking.booker.id = ?1 " +
             "AND all_booking.start > ?2 " +
-            "ORDER BY all_booking.start DESC")
-    List<Booking> findAllByBookerFutureState(long userId, LocalDateTime currentTime, Pageable pageable);
+            "ORDER BY all_booking.start DESC, all_booking.id DESC")
+    List<BookingViewDTO> findAllByBookerFutureState(long userId, LocalDateTime currentTime, Pageable pageable);
 
-    @Query("SELECT all_booking " +
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingViewDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end, all_booking.status, " +
+            "all_booking.item.id, all_booking.item.name, all_booking.booker.id) " +
             "FROM Booking AS all_booking " +
             "WHERE all_booking.booker.id = ?1 " +
             "AND all_booking.status = ?2 " +
-            "ORDER BY all_booking.start DESC ")
-    List<Booking> findAllByBookerAndStatus(long userId, BookingStatus status, Pageable pageable);
+            "ORDER BY all_booking.start DESC, all_booking.id DESC")
+    List<BookingViewDTO> findAllByBookerAndStatus(long userId, BookingStatus status, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingViewDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end, all_booking.status, " +
+            "all_booking.item.id, all_booking.item.name, all_booking.booker.id) " +
+            "FROM Booking AS all_booking " +
+            "WHERE all_booking.itemOwnerId = ?1 " +
+            "ORDER BY all_booking.start DESC, all_booking.id DESC")
+    List<BookingViewDTO> findAllByItemOwnerIdOrderByStartDesc(long userId, Pageable pageable);
 
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(long userId, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingViewDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end, all_booking.status, " +
+            "all_booking.item.id, all_booking.item.name, all_booking.booker.id) " +
+            "FROM Booking AS all_booking " +
+            "WHERE all_booking.itemOwnerId = ?1 " +
+            "AND (all_booking.start < ?2 OR (all_booking.start = ?2 AND all_booking.id < ?3)) " +
+            "ORDER BY all_booking.start DESC, all_booking.id DESC")
+    List<BookingViewDTO> findAllByItemOwnerIdAfter(long userId, LocalDateTime start, long id, Pageable pageable);
 
-    @Query("SELECT all_booking " +
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingViewDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end, all_booking.status, " +
+            "all_booking.item.id, all_booking.item.name, all_booking.booker.id) " +
             "FROM Booking AS all_booking " +
-            "WHERE all_booking.item.owner.id = ?1 " +
+            "WHERE all_booking.itemOwnerId = ?1 " +
             "AND (?2 BETWEEN all_booking.start AND all_booking.end) " +
-            "ORDER BY all_booking.start DESC")
-    List<Booking> findAllByOwnerCurrentState(long userId, LocalDateTime currentTime, Pageable pageable);
+            "ORDER BY all_booking.start DESC, all_booking.id DESC")
+    List<BookingViewDTO> findAllByOwnerCurrentState(long userId, LocalDateTime currentTime, Pageable pageable);
 
-    @Query("SELECT all_booking " +
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingViewDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end, all_booking.status, " +
+            "all_booking.item.id, all_booking.item.name, all_booking.booker.id) " +
             "FROM Booking AS all_booking " +
-            "WHERE all_booking.item.owner.id = ?1 " +
+            "WHERE all_booking.itemOwnerId = ?1 " +
             "AND all_booking.end < ?2 " +
-            "ORDER BY all_booking.start DESC")
-    List<Booking> findAllByOwnerPastState(long userId, LocalDateTime currentTime, Pageable pageable);
+            "ORDER BY all_booking.start DESC, all_booking.id DESC")
+    List<BookingViewDTO> findAllByOwnerPastState(long userId, LocalDateTime currentTime, Pageable pageable);
 
-    @Query("SELECT all_booking " +
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingViewDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end, all_booking.status, " +
+            "all_booking.item.id, all_booking.item.name, all_booking.booker.id) " +
             "FROM Booking AS all_booking " +
-            "WHERE all_booking.item.owner.id = ?1 " +
+            "WHERE all_booking.itemOwnerId = ?1 " +
             "AND all_booking.start > ?2 " +
-            "ORDER BY all_booking.start DESC")
-    List<Booking> findAllByOwnerFutureState(long userId, LocalDateTime currentTime, Pageable pageable);
+            "ORDER BY all_booking.start DESC, all_booking.id DESC")
+    List<BookingViewDTO> findAllByOwnerFutureState(long userId, LocalDateTime currentTime, Pageable pageable);
 
-    @Query("SELECT all_booking " +
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingViewDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end, all_booking.status, " +
+            "all_booking.item.id, all_booking.item.name, all_booking.booker.id) " +
             "FROM Booking AS all_booking " +
-            "WHERE all_booking.item.owner.id = ?1 " +
+            "WHERE all_booking.itemOwnerId = ?1 " +
             "AND all_booking.status = ?2 " +
-            "ORDER BY all_booking.start DESC")
-    List<Booking> findAllByOwnerAndStatus(long userId, BookingStatus status, Pageable pageable);
+            "ORDER BY all_booking.start DESC, all_booking.id DESC")
+    List<BookingViewDTO> findAllByOwnerAndStatus(long userId, BookingStatus status, Pageable pageable);
 
-    @Query("SELECT booking " +
-            "FROM Booking AS booking " +
-            "WHERE booking.item.id = ?1 " +
-            "AND booking.end < ?2 " +
-            "ORDER BY booking.start DESC")
-    Optional<Booking> findLastBooking(long itemId, LocalDateTime currentTime);
+    @Query(value = "SELECT id FROM bookings " +
+            "WHERE booker_id = ?1 " +
+            "AND period @> CAST(?2 AS TIMESTAMP) " +
+            "ORDER BY start_date DESC, id DESC", nativeQuery = true)
+    List<Long> findIdsByBookerPeriodContaining(long userId, LocalDateTime currentTime, Pageable pageable);
+
+    @Query(value = "SELECT id FROM bookings " +
+            "WHERE item_owner_id = ?1 " +
+            "AND period @> CAST(?2 AS TIMESTAMP) " +
+            "ORDER BY start_date DESC, id DESC", nativeQuery = true)
+    List<Long> findIdsByOwnerPeriodContaining(long userId, LocalDateTime currentTime, Pageable pageable);
 
-    @Query("SELECT booking " +
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingViewDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end, all_booking.status, " +
+            "all_booking.item.id, all_booking.item.name, all_booking.booker.id) " +
+            "FROM Booking AS all_booking " +
+            "WHERE all_booking.id IN ?1 " +
+            "ORDER BY all_booking.start DESC, all_booking.id DESC")
+    List<BookingViewDTO> findAllViewsByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingSummaryDTO(COUNT(all_booking), " +
+            "SUM(CASE WHEN all_booking.start <= ?2 AND all_booking.end >= ?2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN all_booking.end < ?2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN all_booking.start > ?2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN all_booking.status = ru.practicum.shareit.booking.BookingStatus.WAITING THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN all_booking.status = ru.practicum.shareit.booking.BookingStatus.REJECTED THEN 1 ELSE 0 END)) " +
+            "FROM Booking AS all_booking " +
+            "WHERE all_booking.booker.id = ?1")
+    BookingSummaryDTO countByBooker(long userId, LocalDateTime currentTime);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingSummaryDTO(COUNT(all_booking), " +
+            "SUM(CASE WHEN all_booking.start <= ?2 AND all_booking.end >= ?2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN all_booking.end < ?2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN all_booking.start > ?2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN all_booking.status = ru.practicum.shareit.booking.BookingStatus.WAITING THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN all_booking.status = ru.practicum.shareit.booking.BookingStatus.REJECTED THEN 1 ELSE 0 END)) " +
+            "FROM Booking AS all_booking " +
+            "WHERE all_booking.itemOwnerId = ?1")
+    BookingSummaryDTO countByOwner(long userId, LocalDateTime currentTime);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingPeriodDTO(" +
+            "all_booking.booker.id, all_booking.itemOwnerId, all_booking.start, all_booking.end) " +
+            "FROM Booking AS all_booking " +
+            "WHERE (all_booking.start > ?1 AND all_booking.start <= ?2) " +
+            "OR (all_booking.end >= ?1 AND all_booking.end < ?2)")
+    List<BookingPeriodDTO> findAllPeriodsCrossing(LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT DISTINCT all_booking.booker.id FROM Booking AS all_booking WHERE all_booking.item.id = ?1")
+    List<Long> findBookerIdsByItemId(long itemId);
+
+    @Query("SELECT DISTINCT all_booking.itemOwnerId FROM Booking AS all_booking WHERE all_booking.item.id = ?1")
+    List<Long> findOwnerIdsByItemId(long itemId);
+
+    @Query("SELECT DISTINCT all_booking.booker.id FROM Booking AS all_booking WHERE all_booking.itemOwnerId = ?1")
+    List<Long> findBookerIdsByOwnerId(long userId);
+
+    @Query("SELECT DISTINCT all_booking.itemOwnerId FROM Booking AS all_booking WHERE all_booking.booker.id = ?1")
+    List<Long> findOwnerIdsByBookerId(long userId);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findAllByIdInAndStatus(Collection<Long> ids, BookingStatus status);
+
+    @Query("SELECT all_booking.status FROM Booking AS all_booking WHERE all_booking.id = ?1")
+    Optional<BookingStatus> findStatusById(long id);
+
+    @Query("SELECT all_booking.id FROM Booking AS all_booking " +
+            "WHERE all_booking.id IN ?1 " +
+            "AND all_booking.status = ?2")
+    List<Long> findIdsByIdInAndStatus(Collection<Long> ids, BookingStatus status);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingIntervalDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end) " +
+            "FROM Booking AS all_booking " +
+            "WHERE all_booking.status = ?1 " +
+            "AND all_booking.start <= ?2")
+    List<BookingIntervalDTO> findAllIntervalsByStatusStartingBefore(BookingStatus status, LocalDateTime time);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Booking AS all_booking " +
+            "SET all_booking.status = ru.practicum.shareit.booking.BookingStatus.CANCELED " +
+            "WHERE all_booking.id IN ?1 " +
+            "AND all_booking.status = ru.practicum.shareit.booking.BookingStatus.WAITING " +
+            "AND all_booking.start <= ?2")
+    int cancelWaitingStartedBefore(Collection<Long> ids, LocalDateTime currentTime);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.ItemBookingDTO(" +
+            "booking.id, booking.item.id, booking.booker.id, booking.start) " +
             "FROM Booking AS booking " +
-            "WHERE booking.item.id = ?1 " +
-            "AND booking.start > ?2 " +
-            "ORDER BY booking.start")
-    Optional<Booking> findNextBooking(long itemId, LocalDateTime currentTime);
+            "WHERE booking.item.id IN ?1 " +
+            "AND ((booking.end < ?2 AND booking.start = (" +
+            "SELECT MAX(last_booking.start) FROM Booking AS last_booking " +
+            "WHERE last_booking.item.id = booking.item.id AND last_booking.end < ?2)) " +
+            "OR (booking.start > ?2 AND booking.start = (" +
+            "SELECT MIN(next_booking.start) FROM Booking AS next_booking " +
+            "WHERE next_booking.item.id = booking.item.id AND next_booking.start > ?2))) " +
+            "ORDER BY booking.id")
+    List<ItemBookingDTO> findLastAndNextBookings(Collection<Long> itemIds, LocalDateTime currentTime);
 
+    @EntityGraph(Booking.DETAILS_GRAPH)
     @Query("SELECT all_booking " +
             "FROM Booking AS all_booking " +
             "WHERE all_booking.booker.id = ?1 " +
             "AND all_booking.item.id = ?2 " +
             "AND all_booking.end < ?3 ")
     List<Booking> findAllByBookerAndItem(long userId, long itemId, LocalDateTime currentTime);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingIntervalDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end) " +
+            "FROM Booking AS all_booking " +
+            "WHERE all_booking.item.id = ?1 " +
+            "AND all_booking.status IN ?2 " +
+            "AND all_booking.end > ?3 " +
+            "ORDER BY all_booking.start")
+    List<BookingIntervalDTO> findActiveIntervalsByItemId(long itemId, Collection<BookingStatus> statuses,
+                                                         LocalDateTime currentTime);
+
+    @Query("SELECT CASE WHEN COUNT(all_booking) > 0 THEN TRUE ELSE FALSE END " +
+            "FROM Booking AS all_booking " +
+            "WHERE all_booking.item.id = ?1 " +
+            "AND all_booking.status IN ?2 " +
+            "AND all_booking.start < ?4 " +
+            "AND all_booking.end > ?3")
+    boolean existsActiveOverlapping(long itemId, Collection<BookingStatus> statuses, LocalDateTime start,
+                                    LocalDateTime end);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingIntervalDTO(" +
+            "all_booking.id, all_booking.start, all_booking.end) " +
+            "FROM Booking AS all_booking " +
+            "WHERE all_booking.item.id = ?1 " +
+            "AND all_booking.status IN ?2 " +
+            "AND all_booking.start < ?4 " +
+            "AND all_booking.end > ?3 " +
+            "ORDER BY all_booking.start")
+    List<BookingIntervalDTO> findActiveIntervalsByItemIdBetween(long itemId, Collection<BookingStatus> statuses,
+                                                                LocalDateTime from, LocalDateTime to);
 }
@@ -3,42 +3,97 @@ package ru.practicum.shareit.booking.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.conflict.BookingConflictIndex;
+import ru.practicum.shareit.booking.counter.BookingCounterService;
+import ru.practicum.shareit.booking.counter.BookingRole;
 import ru.practicum.shareit.booking.dto.BookingDTO;
+import ru.practicum.shareit.booking.dto.BookingSummaryDTO;
+import ru.practicum.shareit.booking.dto.BookingViewDTO;
+import ru.practicum.shareit.booking.expiry.BookingExpiryWheel;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.outbox.BookingEventOutbox;
+import ru.practicum.shareit.booking.outbox.BookingEventRelay;
+import ru.practicum.shareit.booking.period.CurrentBookingFinder;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.common.StripedLocks;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.BookingDateTimeException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UnsupportedStatusException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemChangedEvent;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
     private static final Logger log = LoggerFactory.getLogger(BookingService.class);
+    private static final int ITEM_LOCK_STRIPES = 64;
+    private static final int EXPIRY_BATCH_SIZE = 100;
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
+    private final BookingConflictIndex bookingConflictIndex;
+    private final CurrentBookingFinder currentBookingFinder;
+    private final BookingCounterService bookingCounterService;
+    private final BookingExpiryWheel bookingExpiryWheel;
+    private final BookingEventOutbox bookingEventOutbox;
+    private final BookingEventRelay bookingEventRelay;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StripedLocks itemLocks = new StripedLocks(ITEM_LOCK_STRIPES);
 
     @Autowired
     public BookingService(UserRepository userRepository,
+                          UserExistenceCache userExistenceCache,
                           ItemRepository itemRepository,
                           BookingRepository bookingRepository,
-                          BookingMapper bookingMapper) {
+                          BookingMapper bookingMapper,
+                          BookingConflictIndex bookingConflictIndex,
+                          CurrentBookingFinder currentBookingFinder,
+                          BookingCounterService bookingCounterService,
+                          BookingExpiryWheel bookingExpiryWheel,
+                          BookingEventOutbox bookingEventOutbox,
+                          BookingEventRelay bookingEventRelay,
+                          PlatformTransactionManager transactionManager,
+                          ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.userExistenceCache = userExistenceCache;
         this.itemRepository = itemRepository;
         this.bookingRepository = bookingRepository;
         this.bookingMapper = bookingMapper;
+        this.bookingConflictIndex = bookingConflictIndex;
+        this.currentBookingFinder = currentBookingFinder;
+        this.bookingCounterService = bookingCounterService;
+        this.bookingExpiryWheel = bookingExpiryWheel;
+        this.bookingEventOutbox = bookingEventOutbox;
+        this.bookingEventRelay = bookingEventRelay;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
     }
 
     public BookingDTO addBooking(long userId, BookingDTO bookingDTO) {
@@ -56,7 +111,30 @@ public class BookingService {
 
         log.info("Adding booking");
 
-        return bookingMapper.toDTO(bookingRepository.save(booking));
+        Lock itemLock = itemLocks.get(item.getId());
+        itemLock.lock();
+
+        try {
+            bookingCounterService.ensureCounters(List.of(booker.getId(), item.getOwner().getId()));
+
+            Booking savedBooking = transactionTemplate.execute(status -> {
+                itemRepository.findForUpdate(item.getId());
+                bookingConflictIndex.checkAvailability(item.getId(), booking.getStart(), booking.getEnd());
+
+                Booking saved = bookingRepository.save(booking);
+                bookingEventOutbox.record(saved);
+                bookingCounterService.recordCreated(saved);
+
+                return saved;
+            });
+            bookingConflictIndex.add(savedBooking);
+            bookingExpiryWheel.register(savedBooking.getId(), savedBooking.getStart());
+            eventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
+
+            return bookingMapper.toDTO(savedBooking);
+        } finally {
+            itemLock.unlock();
+        }
     }
 
     public BookingDTO changeStatus(long userId, long bookingId, boolean status) {
@@ -67,15 +145,30 @@ public class BookingService {
                 .orElseThrow(() -> new NotFoundException("Booking not found"));
 
         if (checkOwnerItem(owner, booking)) {
-            if (status && booking.getStatus().equals(BookingStatus.APPROVED)) {
-                throw new BadRequestException("Booking is already APPROVED");
-            } else if (status) {
-                booking.setStatus(BookingStatus.APPROVED);
-                bookingRepository.save(booking);
-            } else {
-                booking.setStatus(BookingStatus.REJECTED);
-                bookingRepository.save(booking);
+            checkStatusChange(booking.getStatus(), status);
+
+            Lock itemLock = itemLocks.get(booking.getItem().getId());
+            itemLock.lock();
+
+            try {
+                bookingCounterService.ensureCounters(List.of(booking.getBooker().getId(), owner.getId()));
+
+                try {
+                    saveStatusChange(booking, status);
+                } catch (DataIntegrityViolationException e) {
+                    throw new ValidationException("Item is already booked for these dates");
+                }
+
+                if (status) {
+                    bookingConflictIndex.add(booking);
+                } else {
+                    bookingConflictIndex.remove(booking);
+                }
+            } finally {
+                itemLock.unlock();
             }
+
+            eventPublisher.publishEvent(new ItemChangedEvent(booking.getItem().getId()));
         } else {
             throw new NotFoundException("it's not the owner of the item");
         }
@@ -98,50 +191,114 @@ public class BookingService {
         }
     }
 
-    public List<BookingDTO> getAllByBookerId(long userId, String state, Pageable pageable) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
+    public SseEmitter subscribe(long userId, Long lastEventId) {
+        userExistenceCache.requireExists(userId);
+
+        return bookingEventRelay.subscribe(userId, lastEventId);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-expiry.tick}")
+    public void expireWaitingBookings() {
+        List<Long> dueIds = bookingExpiryWheel.pollExpired(LocalDateTime.now());
+
+        for (int from = 0; from < dueIds.size(); from += EXPIRY_BATCH_SIZE) {
+            expireWaitingBookings(dueIds.subList(from, Math.min(from + EXPIRY_BATCH_SIZE, dueIds.size())));
+        }
+    }
+
+    public BookingSummaryDTO getBookerSummary(long userId) {
+        userExistenceCache.requireExists(userId);
+
+        return getSummary(userId, BookingRole.BOOKER);
+    }
+
+    public BookingSummaryDTO getOwnerSummary(long userId) {
+        userExistenceCache.requireExists(userId);
+
+        return getSummary(userId, BookingRole.OWNER);
+    }
+
+    public List<BookingViewDTO> getAllByBookerId(long userId, String state, Pageable pageable) {
+        userExistenceCache.requireExists(userId);
 
         switch (state) {
             case "ALL":
-                return bookingMapper.toDTOList(bookingRepository.findAllByBookerIdOrderByStartDesc(userId, pageable));
+                return bookingRepository.findAllByBookerIdOrderByStartDesc(userId, pageable);
             case "CURRENT":
-                return bookingMapper.toDTOList(bookingRepository.findAllByBookerCurrentState(userId, LocalDateTime.now(), pageable));
+                return currentBookingFinder.findByBooker(userId, LocalDateTime.now(), pageable);
             case "PAST":
-                return bookingMapper.toDTOList(bookingRepository.findAllByBookerPastState(userId, LocalDateTime.now(), pageable));
+                return bookingRepository.findAllByBookerPastState(userId, LocalDateTime.now(), pageable);
             case "FUTURE":
-                return bookingMapper.toDTOList(bookingRepository.findAllByBookerFutureState(userId, LocalDateTime.now(), pageable));
+                return bookingRepository.findAllByBookerFutureState(userId, LocalDateTime.now(), pageable);
             case "WAITING":
-                return bookingMapper.toDTOList(bookingRepository.findAllByBookerAndStatus(userId, BookingStatus.WAITING, pageable));
+                return bookingRepository.findAllByBookerAndStatus(userId, BookingStatus.WAITING, pageable);
             case "REJECTED":
-                return bookingMapper.toDTOList(bookingRepository.findAllByBookerAndStatus(userId, BookingStatus.REJECTED, pageable));
+                return bookingRepository.findAllByBookerAndStatus(userId, BookingStatus.REJECTED, pageable);
             default:
                 throw new UnsupportedStatusException("Incorrect state");
         }
     }
 
-    public List<BookingDTO> getAllByOwnerId(long userId, String state, Pageable pageable) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
+    public List<BookingViewDTO> getAllByOwnerId(long userId, String state, Pageable pageable) {
+        userExistenceCache.requireExists(userId);
+
+        switch (state) {
+            case "ALL":
+                return bookingRepository.findAllByItemOwnerIdOrderByStartDesc(userId, pageable);
+            case "CURRENT":
+                return currentBookingFinder.findByOwner(userId, LocalDateTime.now(), pageable);
+            case "PAST":
+                return bookingRepository.findAllByOwnerPastState(userId, LocalDateTime.now(), pageable);
+            case "FUTURE":
+                return bookingRepository.findAllByOwnerFutureState(userId, LocalDateTime.now(), pageable);
+            case "WAITING":
+                return bookingRepository.findAllByOwnerAndStatus(userId, BookingStatus.WAITING, pageable);
+            case "REJECTED":
+                return bookingRepository.findAllByOwnerAndStatus(userId, BookingStatus.REJECTED, pageable);
+            default:
+                throw new UnsupportedStatusException("Incorrect state");
+        }
+    }
+
+    public List<BookingViewDTO> getAllByBookerId(long userId, String state, PageCursor after, int size) {
+        userExistenceCache.requireExists(userId);
+
+        checkCursorState(state);
+
+        return bookingRepository.findAllByBookerIdAfter(userId, after.requireTimestamp(),
+                after.getId(), PageRequest.of(0, size));
+    }
 
+    public List<BookingViewDTO> getAllByOwnerId(long userId, String state, PageCursor after, int size) {
+        userExistenceCache.requireExists(userId);
+
+        checkCursorState(state);
+
+        return bookingRepository.findAllByItemOwnerIdAfter(userId, after.requireTimestamp(),
+                after.getId(), PageRequest.of(0, size));
+    }
+
+    private void checkCursorState(String state) {
         switch (state) {
             case "ALL":
-                return bookingMapper.toDTOList(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(userId, pageable));
+                return;
             case "CURRENT":
-                return bookingMapper.toDTOList(bookingRepository.findAllByOwnerCurrentState(userId, LocalDateTime.now(), pageable));
             case "PAST":
-                return bookingMapper.toDTOList(bookingRepository.findAllByOwnerPastState(userId, LocalDateTime.now(), pageable));
             case "FUTURE":
-                return bookingMapper.toDTOList(bookingRepository.findAllByOwnerFutureState(userId, LocalDateTime.now(), pageable));
             case "WAITING":
-                return bookingMapper.toDTOList(bookingRepository.findAllByOwnerAndStatus(userId, BookingStatus.WAITING, pageable));
             case "REJECTED":
-                return bookingMapper.toDTOList(bookingRepository.findAllByOwnerAndStatus(userId, BookingStatus.REJECTED, pageable));
+                throw new BadRequestException("Cursor pagination is supported only for state ALL");
             default:
                 throw new UnsupportedStatusException("Incorrect state");
         }
     }
 
+    private void checkStatusChange(BookingStatus currentStatus, boolean approve) {
+        if (approve && currentStatus == BookingStatus.APPROVED) {
+            throw new BadRequestException("Booking is already APPROVED");
+        }
+    }
+
     private boolean checkOwnerItem(User user, Booking booking) {
         return user.equals(booking.getItem().getOwner());
     }
@@ -150,6 +307,117 @@ public class BookingService {
         return user.equals(booking.getBooker());
     }
 
+    private void expireWaitingBookings(List<Long> bookingIds) {
+        List<Booking> candidates = bookingRepository.findAllByIdInAndStatus(bookingIds, BookingStatus.WAITING);
+
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<Lock> locks = new LinkedHashSet<>();
+        candidates.forEach(booking -> locks.add(itemLocks.get(booking.getItem().getId())));
+        locks.forEach(Lock::lock);
+
+        List<Booking> expired;
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Booking> started = candidates.stream()
+                    .filter(booking -> !booking.getStart().isAfter(now))
+                    .collect(Collectors.toList());
+
+            if (started.isEmpty()) {
+                return;
+            }
+
+            expired = cancelWithEvents(started, now);
+
+            if (expired.isEmpty()) {
+                return;
+            }
+
+            expired.forEach(bookingConflictIndex::remove);
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+
+        expired.stream()
+                .map(booking -> booking.getItem().getId())
+                .distinct()
+                .forEach(itemId -> eventPublisher.publishEvent(new ItemChangedEvent(itemId)));
+
+        log.info("Expired {} waiting bookings", expired.size());
+    }
+
+    // The status is re-read under the item row lock, so a decision made on a stale copy (for example one
+    // the expiry wheel has just canceled on another instance) is rejected instead of overwriting it.
+    private void saveStatusChange(Booking booking, boolean approve) {
+        transactionTemplate.executeWithoutResult(status -> {
+            itemRepository.findForUpdate(booking.getItem().getId());
+
+            BookingStatus previousStatus = bookingRepository.findStatusById(booking.getId())
+                    .orElseThrow(() -> new NotFoundException("Booking not found"));
+            checkStatusChange(previousStatus, approve);
+
+            if (approve) {
+                if (!BookingConflictIndex.ACTIVE_STATUSES.contains(previousStatus)) {
+                    bookingConflictIndex.checkAvailability(booking.getItem().getId(), booking.getStart(),
+                            booking.getEnd());
+                }
+
+                booking.setStatus(BookingStatus.APPROVED);
+            } else {
+                booking.setStatus(BookingStatus.REJECTED);
+            }
+
+            bookingRepository.save(booking);
+            bookingEventOutbox.record(booking);
+            bookingCounterService.recordStatusChange(booking, previousStatus);
+        });
+    }
+
+    private List<Booking> cancelWithEvents(List<Booking> bookings, LocalDateTime currentTime) {
+        return transactionTemplate.execute(status -> {
+            bookings.stream()
+                    .map(booking -> booking.getItem().getId())
+                    .distinct()
+                    .sorted()
+                    .forEach(itemRepository::findForUpdate);
+
+            Set<Long> waitingIds = Set.copyOf(bookingRepository.findIdsByIdInAndStatus(toIds(bookings),
+                    BookingStatus.WAITING));
+            List<Booking> expired = bookings.stream()
+                    .filter(booking -> waitingIds.contains(booking.getId()))
+                    .collect(Collectors.toList());
+
+            if (expired.isEmpty()) {
+                return expired;
+            }
+
+            bookingRepository.cancelWaitingStartedBefore(toIds(expired), currentTime);
+            expired.forEach(booking -> booking.setStatus(BookingStatus.CANCELED));
+            bookingEventOutbox.recordAll(expired);
+            bookingCounterService.recordExpired(expired);
+
+            return expired;
+        });
+    }
+
+    private static List<Long> toIds(List<Booking> bookings) {
+        return bookings.stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+    }
+
+    private BookingSummaryDTO getSummary(long userId, BookingRole role) {
+        return bookingCounterService.findSummary(userId, role)
+                .orElseGet(() -> {
+                    bookingCounterService.ensureCounters(List.of(userId));
+
+                    return bookingCounterService.findSummary(userId, role).orElseThrow();
+                });
+    }
+
     private void validate(BookingDTO bookingDTO, User booker, Item item) {
         if (bookingDTO.getEnd().isBefore(LocalDateTime.now()) || bookingDTO.getEnd().isBefore(bookingDTO.getStart())
                 || bookingDTO.getStart().isBefore(LocalDateTime.now())) {
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+public final class ETags {
+    private ETags() {
+    }
+
+    public static String of(String type, long id, long version, Object... parts) {
+        StringBuilder fingerprint = new StringBuilder().append(version);
+
+        for (Object part : parts) {
+            fingerprint.append('|').append(part);
+        }
+
+        return "\"" + type + "-" + id + "-"
+                + DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public static <T> ResponseEntity<T> toResponse(T body, String eTag) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(body);
+    }
+}
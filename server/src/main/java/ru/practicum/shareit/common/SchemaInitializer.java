@@ -0,0 +1,37 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Replaces the auto-configured initializer so that the Postgres-only scripts are applied next to schema.sql
+// on Postgres, while H2 test databases still get schema.sql alone.
+@Component
+public class SchemaInitializer extends SqlDataSourceScriptDatabaseInitializer {
+    public SchemaInitializer(DataSource dataSource,
+                             SqlInitializationProperties properties,
+                             @Value("${shareit.sql.postgresql-schema-locations}") List<String> postgresqlLocations) {
+        super(dataSource, settings(dataSource, properties, postgresqlLocations));
+    }
+
+    private static DatabaseInitializationSettings settings(DataSource dataSource,
+                                                           SqlInitializationProperties properties,
+                                                           List<String> postgresqlLocations) {
+        DatabaseInitializationSettings settings = SqlDataSourceScriptDatabaseInitializer.getSettings(properties);
+
+        if (DatabaseDriver.fromDataSource(dataSource) == DatabaseDriver.POSTGRESQL) {
+            List<String> locations = new ArrayList<>(settings.getSchemaLocations());
+            locations.addAll(postgresqlLocations);
+            settings.setSchemaLocations(locations);
+        }
+
+        return settings;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.common;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class StripedLocks {
+    private final Lock[] locks;
+
+    public StripedLocks(int stripes) {
+        locks = new Lock[stripes];
+
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock get(long key) {
+        int hash = Long.hashCode(key);
+
+        return locks[Math.floorMod(hash ^ (hash >>> 16), locks.length)];
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.common;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class TimingWheel<T> {
+    private final long tickMillis;
+    private final List<List<Entry<T>>> buckets;
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(Duration tick, int wheelSize, long startMillis) {
+        this.tickMillis = tick.toMillis();
+        this.buckets = new ArrayList<>(wheelSize);
+        this.currentTick = startMillis / tickMillis;
+
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    public synchronized void schedule(T value, long deadlineMillis) {
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick);
+
+        bucket(tick).add(new Entry<>(value, tick));
+        size++;
+    }
+
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+
+        if (targetTick < currentTick) {
+            return expired;
+        }
+
+        long lastTick = Math.min(targetTick, currentTick + buckets.size() - 1);
+
+        for (long tick = currentTick; tick <= lastTick; tick++) {
+            Iterator<Entry<T>> iterator = bucket(tick).iterator();
+
+            while (iterator.hasNext()) {
+                Entry<T> entry = iterator.next();
+
+                if (entry.tick <= targetTick) {
+                    expired.add(entry.value);
+                    iterator.remove();
+                    size--;
+                }
+            }
+        }
+
+        currentTick = targetTick + 1;
+
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private List<Entry<T>> bucket(long tick) {
+        return buckets.get((int) Math.floorMod(tick, (long) buckets.size()));
+    }
+
+    private static class Entry<T> {
+        private final T value;
+        private final long tick;
+
+        Entry(T value, long tick) {
+            this.value = value;
+            this.tick = tick;
+        }
+    }
+}
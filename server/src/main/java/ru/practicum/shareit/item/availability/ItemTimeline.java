@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.availability;
+
+import ru.practicum.shareit.booking.dto.BookingIntervalDTO;
+import ru.practicum.shareit.item.dto.AvailabilityDTO;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ItemTimeline {
+    private final long[] starts;
+    private final long[] ends;
+    private final int size;
+
+    private ItemTimeline(long[] starts, long[] ends, int size) {
+        this.starts = starts;
+        this.ends = ends;
+        this.size = size;
+    }
+
+    public static ItemTimeline of(List<BookingIntervalDTO> intervals) {
+        long[] starts = new long[intervals.size()];
+        long[] ends = new long[intervals.size()];
+        int size = 0;
+
+        for (BookingIntervalDTO interval : intervals) {
+            long start = toEpochMilli(interval.getStart());
+            long end = toEpochMilli(interval.getEnd());
+
+            if (size > 0 && start <= ends[size - 1]) {
+                ends[size - 1] = Math.max(ends[size - 1], end);
+            } else {
+                starts[size] = start;
+                ends[size] = end;
+                size++;
+            }
+        }
+
+        return new ItemTimeline(starts, ends, size);
+    }
+
+    public List<AvailabilityDTO> freeWindows(LocalDateTime from, LocalDateTime to) {
+        long cursor = toEpochMilli(from);
+        long limit = toEpochMilli(to);
+        List<AvailabilityDTO> windows = new ArrayList<>();
+
+        for (int i = firstEndingAfter(cursor); i < size && starts[i] < limit; i++) {
+            if (starts[i] > cursor) {
+                windows.add(new AvailabilityDTO(toDateTime(cursor), toDateTime(starts[i])));
+            }
+
+            cursor = Math.max(cursor, ends[i]);
+        }
+
+        if (cursor < limit) {
+            windows.add(new AvailabilityDTO(toDateTime(cursor), toDateTime(limit)));
+        }
+
+        return windows;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int firstEndingAfter(long time) {
+        int index = Arrays.binarySearch(ends, 0, size, time);
+
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.LruCache;
+import ru.practicum.shareit.common.LruCacheMetrics;
+import ru.practicum.shareit.item.dto.ItemDTO;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+public class ItemDetailsCache implements MeterBinder {
+    private static final String CACHE_NAME = "itemDetails";
+    private static final int STAMP_STRIPES = 1024;
+    private final LruCache<Key, CachedItem> cache;
+    private final boolean enabled;
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    // Item changes on other server instances do not invalidate this cache, so it is only enabled for a
+    // single instance.
+    public ItemDetailsCache(@Value("${shareit.item-cache.enabled}") boolean enabled,
+                            @Value("${shareit.item-cache.max-size}") int maxSize,
+                            @Value("${shareit.item-cache.ttl}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = new LruCache<>(maxSize, ttl);
+    }
+
+    public Optional<ItemDTO> get(long itemId, long userId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        CachedItem viewerItem = cache.get(new Key(itemId, false));
+
+        if (viewerItem != null && viewerItem.getOwnerId() != userId) {
+            return Optional.of(viewerItem.getDetails());
+        }
+
+        CachedItem ownerItem = cache.get(new Key(itemId, true));
+
+        if (ownerItem != null && ownerItem.getOwnerId() == userId) {
+            return Optional.of(ownerItem.getDetails());
+        }
+
+        return Optional.empty();
+    }
+
+    public long stamp(long itemId) {
+        return stamps.get(stripe(itemId));
+    }
+
+    // Details loaded before a concurrent change must not outlive its invalidation, so a put with a stamp
+    // taken before the load is undone when the item changed in the meantime.
+    public void put(long itemId, long ownerId, long userId, ItemDTO details, long stamp) {
+        if (!enabled || stamp(itemId) != stamp) {
+            return;
+        }
+
+        Key key = new Key(itemId, ownerId == userId);
+        cache.put(key, new CachedItem(ownerId, details));
+
+        if (stamp(itemId) != stamp) {
+            cache.remove(key);
+        }
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        stamps.incrementAndGet(stripe(event.getItemId()));
+        cache.remove(new Key(event.getItemId(), false));
+        cache.remove(new Key(event.getItemId(), true));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new LruCacheMetrics(cache, CACHE_NAME, Tags.empty()).bindTo(registry);
+    }
+
+    private static int stripe(long itemId) {
+        return (int) Math.floorMod(itemId, (long) STAMP_STRIPES);
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final long itemId;
+        private final boolean owner;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedItem {
+        private final long ownerId;
+        private final ItemDTO details;
+    }
+}
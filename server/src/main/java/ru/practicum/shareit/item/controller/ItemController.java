@@ -1,7 +1,13 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -12,12 +18,21 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.SimplifiedBookingDTO;
+import ru.practicum.shareit.common.ETags;
 import ru.practicum.shareit.common.MyPageRequest;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.dto.AvailabilityDTO;
 import ru.practicum.shareit.item.dto.CommentDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
@@ -25,6 +40,7 @@ import java.util.List;
 public class ItemController {
     private static final String SHARER_USER_ID = "X-Sharer-User-Id";
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemDTO createItem(@RequestHeader(SHARER_USER_ID) long userId,
@@ -32,17 +48,49 @@ public class ItemController {
         return itemService.addItem(userId, itemDTO);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<ItemDTO> createItems(@RequestHeader(SHARER_USER_ID) long userId,
+                                     @RequestBody List<ItemDTO> itemDTOs) {
+        return itemService.addItems(userId, itemDTOs);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public List<ItemDTO> createItemsFromStream(@RequestHeader(SHARER_USER_ID) long userId,
+                                               InputStream body) throws IOException {
+        try (MappingIterator<ItemDTO> itemDTOs = objectMapper.readerFor(ItemDTO.class).readValues(body)) {
+            return itemService.addItems(userId, itemDTOs.readAll());
+        } catch (JsonProcessingException exception) {
+            throw new BadRequestException("Invalid item stream");
+        }
+    }
+
     @GetMapping("/{itemId}")
-    public ItemDTO getItem(@RequestHeader(SHARER_USER_ID) long userId,
-                           @PathVariable long itemId) {
-        return itemService.getById(userId, itemId);
+    public ResponseEntity<ItemDTO> getItem(@RequestHeader(SHARER_USER_ID) long userId,
+                                           @PathVariable long itemId) {
+        ItemDTO item = itemService.getById(userId, itemId);
+
+        return ETags.toResponse(item, ETags.of("item", item.getId(), item.getVersion(),
+                bookingId(item.getLastBooking()), bookingId(item.getNextBooking()), commentIds(item.getComments())));
     }
 
     @GetMapping
-    public List<ItemDTO> getItemsByUserId(@RequestHeader(SHARER_USER_ID) long userId,
-                                          @RequestParam(defaultValue = "0", required = false) Integer from,
-                                          @RequestParam(defaultValue = "10", required = false) Integer size) {
-        return itemService.getItemsByUserId(userId, new MyPageRequest(from, size, Sort.unsorted()));
+    public ResponseEntity<List<ItemDTO>> getItemsByUserId(@RequestHeader(SHARER_USER_ID) long userId,
+                                                          @RequestParam(defaultValue = "0", required = false) Integer from,
+                                                          @RequestParam(defaultValue = "10", required = false) Integer size,
+                                                          @RequestParam(required = false) String after) {
+        List<ItemDTO> items = after == null
+                ? itemService.getItemsByUserId(userId, new MyPageRequest(from, size, Sort.unsorted()))
+                : itemService.getItemsByUserId(userId, PageCursor.decode(after), size);
+
+        return PageCursor.toResponse(items, size, item -> PageCursor.of(item.getId()));
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilityDTO> getAvailability(@RequestHeader(SHARER_USER_ID) long userId,
+                                                 @PathVariable long itemId,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getAvailability(userId, itemId, from, to);
     }
 
     @GetMapping("/search")
@@ -52,6 +100,12 @@ public class ItemController {
         return itemService.getItemsByText(text, new MyPageRequest(from, size, Sort.unsorted()));
     }
 
+    @GetMapping("/suggest")
+    public List<String> suggest(@RequestParam String prefix,
+                                @RequestParam(defaultValue = "10", required = false) Integer size) {
+        return itemService.getSuggestions(prefix, size);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDTO updateItem(@RequestHeader(SHARER_USER_ID) long userId,
                               @PathVariable long itemId, @RequestBody ItemDTO itemDTO) {
@@ -69,4 +123,18 @@ public class ItemController {
                                     @PathVariable long itemId, @RequestBody CommentDTO commentDTO) {
         return itemService.addComment(userId, itemId, commentDTO);
     }
+
+    private static Long bookingId(SimplifiedBookingDTO booking) {
+        return booking == null ? null : booking.getId();
+    }
+
+    private static List<Long> commentIds(List<CommentDTO> comments) {
+        if (comments == null) {
+            return List.of();
+        }
+
+        return comments.stream()
+                .map(CommentDTO::getId)
+                .collect(Collectors.toList());
+    }
 }
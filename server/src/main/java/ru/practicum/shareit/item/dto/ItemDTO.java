@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 import ru.practicum.shareit.booking.dto.SimplifiedBookingDTO;
@@ -19,4 +20,7 @@ public class ItemDTO {
     private SimplifiedBookingDTO lastBooking;
     private SimplifiedBookingDTO nextBooking;
     private User owner;
+
+    @JsonIgnore
+    private long version;
 }
@@ -42,6 +42,7 @@ public class ItemMapper implements BaseMapper<ItemDTO, Item> {
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .requestId(requestId)
+                .version(item.getVersion())
                 .build();
     }
 
@@ -1,26 +1,53 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @Override
+    @EntityGraph(Item.DETAILS_GRAPH)
+    Optional<Item> findById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT item FROM Item AS item WHERE item.id = ?1")
+    Optional<Item> findForUpdate(long id);
+
     List<Item> findAllByOwnerIdOrderByIdAsc(long ownerId, Pageable pageable);
 
+    List<Item> findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(long ownerId, long id, Pageable pageable);
+
     @Query("SELECT item FROM Item item " +
             "WHERE item.available = TRUE " +
             "AND (lower(item.name) LIKE %?1% " +
             "OR lower(item.description) LIKE %?1%)")
     List<Item> search(String text, Pageable pageable);
 
+    @Query(value = "SELECT * FROM items " +
+            "WHERE is_available = TRUE " +
+            "AND search_vector @@ plainto_tsquery('simple', :text) " +
+            "ORDER BY ts_rank(search_vector, plainto_tsquery('simple', :text)) DESC, id",
+            nativeQuery = true)
+    List<Item> searchFullText(@Param("text") String text, Pageable pageable);
+
     @Query("SELECT item FROM Item item " +
             "WHERE item.request.id IN :ids")
     List<Item> findAllByRequestIds(@Param("ids") List<Long> ids);
 
+    @Query("SELECT item.id FROM Item item " +
+            "WHERE item.owner.id = ?1 " +
+            "OR item.id IN (SELECT booking.item.id FROM Booking booking WHERE booking.booker.id = ?1) " +
+            "OR item.id IN (SELECT comment.item.id FROM Comment comment WHERE comment.author.id = ?1)")
+    List<Long> findIdsAffectedByUser(long userId);
+
     List<Item> findAllByRequestOwnerId(long ownerId);
 
     List<Item> findAllByRequestId(long requestId);
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.mode", havingValue = "fuzzy")
+public class FuzzyItemSearchEngine implements ItemSearchEngine {
+    private static final Logger log = LoggerFactory.getLogger(FuzzyItemSearchEngine.class);
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private final ItemRepository itemRepository;
+    private final NgramIndex index = new NgramIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Pageable pageable = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by("id"));
+        Page<Item> page;
+
+        do {
+            page = itemRepository.findAll(pageable);
+            page.forEach(this::index);
+            pageable = page.nextPageable();
+        } while (page.hasNext());
+
+        log.info("Fuzzy item search index built, documents: {}", index.size());
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        List<Long> ids = index.search(text, pageable.getOffset(), pageable.getPageSize());
+
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Item> items = itemRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<Item> result = new ArrayList<>(ids.size());
+
+        for (Long id : ids) {
+            Item item = items.get(id);
+
+            if (item != null) {
+                result.add(item);
+            } else {
+                index.remove(id);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public void index(Item item) {
+        index.put(item.getId(), item.getName(), item.getDescription(), Boolean.TRUE.equals(item.getAvailable()));
+    }
+
+    @Override
+    public void remove(long itemId) {
+        index.remove(itemId);
+    }
+}
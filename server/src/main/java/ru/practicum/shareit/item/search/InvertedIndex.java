@@ -0,0 +1,137 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class InvertedIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    private final Set<Long> available = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, String name, String description, boolean isAvailable) {
+        Set<String> terms = new HashSet<>(tokenize(name));
+        terms.addAll(tokenize(description));
+
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new HashSet<>()).add(id);
+            }
+
+            documentTerms.put(id, terms);
+
+            if (isAvailable) {
+                available.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String text, long offset, int limit) {
+        List<String> terms = tokenize(text);
+
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> matches = null;
+
+            for (String term : terms) {
+                Set<Long> termMatches = new HashSet<>();
+
+                for (Set<Long> ids : postings.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+                    termMatches.addAll(ids);
+                }
+
+                if (matches == null) {
+                    matches = termMatches;
+                } else {
+                    matches.retainAll(termMatches);
+                }
+
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return new TreeSet<>(matches).stream()
+                    .filter(available::contains)
+                    .skip(offset)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unlink(long id) {
+        Collection<String> terms = documentTerms.remove(id);
+        available.remove(id);
+
+        if (terms == null) {
+            return;
+        }
+
+        for (String term : terms) {
+            Set<Long> ids = postings.get(term);
+
+            if (ids != null) {
+                ids.remove(id);
+
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new ArrayList<>();
+        }
+
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase()))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ItemNameSuggester {
+    private static final Logger log = LoggerFactory.getLogger(ItemNameSuggester.class);
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private final ItemRepository itemRepository;
+    private volatile NameSuggestionIndex index = new NameSuggestionIndex();
+    private volatile NameSuggestionIndex rebuilding;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+        log.info("Item name suggestions built, items: {}", index.size());
+    }
+
+    // The index only sees local writes, so it is rebuilt from the database to pick up items changed by other
+    // server instances. Local writes made while a rebuild is loading go to both indexes.
+    @Scheduled(initialDelayString = "${shareit.item-suggestions.refresh-interval}",
+            fixedDelayString = "${shareit.item-suggestions.refresh-interval}")
+    public synchronized void rebuild() {
+        NameSuggestionIndex fresh = new NameSuggestionIndex();
+        rebuilding = fresh;
+
+        try {
+            Pageable pageable = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by("id"));
+            Page<Item> page;
+
+            do {
+                page = itemRepository.findAll(pageable);
+                page.forEach(item -> put(fresh, item));
+                pageable = page.nextPageable();
+            } while (page.hasNext());
+
+            index = fresh;
+        } finally {
+            rebuilding = null;
+        }
+
+        log.debug("Item name suggestions rebuilt, items: {}", fresh.size());
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        return index.suggest(prefix, limit);
+    }
+
+    public void index(Item item) {
+        NameSuggestionIndex fresh = rebuilding;
+
+        put(index, item);
+
+        if (fresh != null) {
+            put(fresh, item);
+        }
+    }
+
+    public void remove(long itemId) {
+        NameSuggestionIndex fresh = rebuilding;
+
+        index.remove(itemId);
+
+        if (fresh != null) {
+            fresh.remove(itemId);
+        }
+    }
+
+    private static void put(NameSuggestionIndex index, Item item) {
+        index.put(item.getId(), item.getName(), Boolean.TRUE.equals(item.getAvailable()));
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class NameSuggestionIndex {
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final NavigableMap<String, Set<Long>> completions = new TreeMap<>();
+    private final Map<Long, List<String>> itemKeys = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, String name, boolean isAvailable) {
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+
+            if (!isAvailable || name == null || name.isBlank()) {
+                return;
+            }
+
+            List<String> keys = keys(name.strip());
+
+            for (String key : keys) {
+                completions.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+            }
+
+            itemKeys.put(id, keys);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = prefix == null ? "" : prefix.strip().toLowerCase();
+
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<String> names = new LinkedHashSet<>();
+
+            for (String key : completions.tailMap(normalized, true).keySet()) {
+                if (!key.startsWith(normalized)) {
+                    break;
+                }
+
+                names.add(key.substring(key.indexOf(KEY_SEPARATOR) + 1));
+
+                if (names.size() >= limit) {
+                    break;
+                }
+            }
+
+            return new ArrayList<>(names);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return itemKeys.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unlink(long id) {
+        List<String> keys = itemKeys.remove(id);
+
+        if (keys == null) {
+            return;
+        }
+
+        for (String key : keys) {
+            Set<Long> ids = completions.get(key);
+
+            if (ids != null) {
+                ids.remove(id);
+
+                if (ids.isEmpty()) {
+                    completions.remove(key);
+                }
+            }
+        }
+    }
+
+    static List<String> keys(String name) {
+        String lowerCaseName = name.toLowerCase();
+        List<String> keys = new ArrayList<>();
+
+        for (int i = 0; i < lowerCaseName.length(); i++) {
+            boolean wordStart = Character.isLetterOrDigit(lowerCaseName.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(lowerCaseName.charAt(i - 1)));
+
+            if (wordStart) {
+                keys.add(lowerCaseName.substring(i) + KEY_SEPARATOR + name);
+            }
+        }
+
+        return keys;
+    }
+}
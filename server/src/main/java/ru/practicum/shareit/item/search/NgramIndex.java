@@ -0,0 +1,296 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+public class NgramIndex {
+    private static final char PADDING = '\u0000';
+
+    private final NavigableMap<String, Integer> termIds = new TreeMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<Set<Long>> termItems = new ArrayList<>();
+    private final Map<String, IntList> gramTerms = new HashMap<>();
+    private final Map<Long, int[]> documentTerms = new HashMap<>();
+    private final Set<Long> available = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, String name, String description, boolean isAvailable) {
+        Set<String> words = new HashSet<>(InvertedIndex.tokenize(name));
+        words.addAll(InvertedIndex.tokenize(description));
+
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+
+            int[] ids = new int[words.size()];
+            int i = 0;
+
+            for (String word : words) {
+                int termId = termId(word);
+                termItems.get(termId).add(id);
+                ids[i++] = termId;
+            }
+
+            documentTerms.put(id, ids);
+
+            if (isAvailable) {
+                available.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String text, long offset, int limit) {
+        List<String> words = InvertedIndex.tokenize(text);
+
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+
+            for (String word : words) {
+                Map<Long, Integer> wordScores = new HashMap<>();
+
+                matchTerms(word).forEach((termId, distance) -> {
+                    for (Long id : termItems.get(termId)) {
+                        if (available.contains(id)) {
+                            wordScores.merge(id, distance, Math::min);
+                        }
+                    }
+                });
+
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    Map<Long, Integer> previous = scores;
+                    scores = new HashMap<>();
+
+                    for (Map.Entry<Long, Integer> entry : wordScores.entrySet()) {
+                        Integer score = previous.get(entry.getKey());
+
+                        if (score != null) {
+                            scores.put(entry.getKey(), score + entry.getValue());
+                        }
+                    }
+                }
+
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return top(scores, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<Long> top(Map<Long, Integer> scores, long offset, int limit) {
+        Comparator<Map.Entry<Long, Integer>> ranking = Map.Entry.<Long, Integer>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey());
+        long count = offset + limit;
+        PriorityQueue<Map.Entry<Long, Integer>> best = new PriorityQueue<>(ranking.reversed());
+
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            if (best.size() < count) {
+                best.add(entry);
+            } else if (ranking.compare(entry, best.peek()) < 0) {
+                best.poll();
+                best.add(entry);
+            }
+        }
+
+        return best.stream()
+                .sorted(ranking)
+                .skip(offset)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private Map<Integer, Integer> matchTerms(String word) {
+        Map<Integer, Integer> matches = new HashMap<>();
+
+        for (Integer termId : termIds.subMap(word, true, word + Character.MAX_VALUE, true).values()) {
+            matches.put(termId, 0);
+        }
+
+        int maxDistance = maxDistance(word.length());
+
+        if (maxDistance == 0) {
+            return matches;
+        }
+
+        List<String> grams = grams(word);
+        int minSharedGrams = grams.size() - 2 * maxDistance;
+        Map<Integer, Integer> sharedGrams = new HashMap<>();
+
+        for (String gram : grams) {
+            IntList candidates = gramTerms.get(gram);
+
+            if (candidates != null) {
+                for (int i = 0; i < candidates.size; i++) {
+                    sharedGrams.merge(candidates.values[i], 1, Integer::sum);
+                }
+            }
+        }
+
+        for (Map.Entry<Integer, Integer> candidate : sharedGrams.entrySet()) {
+            int termId = candidate.getKey();
+
+            if (candidate.getValue() < minSharedGrams || matches.containsKey(termId)) {
+                continue;
+            }
+
+            String term = terms.get(termId);
+
+            if (Math.abs(term.length() - word.length()) > maxDistance) {
+                continue;
+            }
+
+            int distance = distance(word, term, maxDistance);
+
+            if (distance <= maxDistance) {
+                matches.put(termId, distance);
+            }
+        }
+
+        return matches;
+    }
+
+    private int termId(String word) {
+        Integer termId = termIds.get(word);
+
+        if (termId != null) {
+            return termId;
+        }
+
+        termId = terms.size();
+        termIds.put(word, termId);
+        terms.add(word);
+        termItems.add(new HashSet<>());
+
+        for (String gram : new HashSet<>(grams(word))) {
+            gramTerms.computeIfAbsent(gram, key -> new IntList()).add(termId);
+        }
+
+        return termId;
+    }
+
+    private void unlink(long id) {
+        int[] ids = documentTerms.remove(id);
+        available.remove(id);
+
+        if (ids == null) {
+            return;
+        }
+
+        for (int termId : ids) {
+            termItems.get(termId).remove(id);
+        }
+    }
+
+    static int maxDistance(int length) {
+        if (length <= 2) {
+            return 0;
+        }
+
+        return length == 3 ? 1 : 2;
+    }
+
+    static List<String> grams(String word) {
+        String padded = PADDING + word + PADDING;
+        List<String> grams = new ArrayList<>(padded.length() - 1);
+
+        for (int i = 0; i < padded.length() - 1; i++) {
+            grams.add(padded.substring(i, i + 2));
+        }
+
+        return grams;
+    }
+
+    static int distance(String source, String target, int maxDistance) {
+        int[] previousRow = new int[target.length() + 1];
+        int[] row = new int[target.length() + 1];
+        int[] nextRow = new int[target.length() + 1];
+
+        for (int j = 0; j <= target.length(); j++) {
+            row[j] = j;
+        }
+
+        for (int i = 1; i <= source.length(); i++) {
+            nextRow[0] = i;
+            int rowMin = i;
+
+            for (int j = 1; j <= target.length(); j++) {
+                int cost = source.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(nextRow[j - 1] + 1, row[j] + 1), row[j - 1] + cost);
+
+                if (i > 1 && j > 1 && source.charAt(i - 1) == target.charAt(j - 2)
+                        && source.charAt(i - 2) == target.charAt(j - 1)) {
+                    value = Math.min(value, previousRow[j - 2] + 1);
+                }
+
+                nextRow[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+
+            int[] recycled = previousRow;
+            previousRow = row;
+            row = nextRow;
+            nextRow = recycled;
+        }
+
+        return row[target.length()];
+    }
+
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            values[size++] = value;
+        }
+    }
+}
@@ -1,16 +1,28 @@
 package ru.practicum.shareit.item.service;
 
-import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.conflict.BookingConflictIndex;
+import ru.practicum.shareit.booking.counter.BookingCounterService;
+import ru.practicum.shareit.booking.dto.ItemBookingDTO;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.availability.ItemTimeline;
+import ru.practicum.shareit.item.cache.ItemChangedEvent;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.dto.AvailabilityDTO;
 import ru.practicum.shareit.item.dto.CommentDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 import ru.practicum.shareit.item.mapper.CommentMapper;
@@ -19,27 +31,74 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class ItemService {
     private static final Logger log = LoggerFactory.getLogger(ItemService.class);
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final RequestRepository requestRepository;
     private final BookingMapper bookingMapper;
     private final CommentMapper commentMapper;
     private final ItemMapper itemMapper;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemNameSuggester itemNameSuggester;
+    private final ItemDetailsCache itemDetailsCache;
+    private final BookingCounterService bookingCounterService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ItemService(ItemRepository itemRepository,
+                       UserRepository userRepository,
+                       UserExistenceCache userExistenceCache,
+                       BookingRepository bookingRepository,
+                       CommentRepository commentRepository,
+                       RequestRepository requestRepository,
+                       BookingMapper bookingMapper,
+                       CommentMapper commentMapper,
+                       ItemMapper itemMapper,
+                       ItemSearchEngine itemSearchEngine,
+                       ItemNameSuggester itemNameSuggester,
+                       ItemDetailsCache itemDetailsCache,
+                       BookingCounterService bookingCounterService,
+                       PlatformTransactionManager transactionManager,
+                       ApplicationEventPublisher eventPublisher) {
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.userExistenceCache = userExistenceCache;
+        this.bookingRepository = bookingRepository;
+        this.commentRepository = commentRepository;
+        this.requestRepository = requestRepository;
+        this.bookingMapper = bookingMapper;
+        this.commentMapper = commentMapper;
+        this.itemMapper = itemMapper;
+        this.itemSearchEngine = itemSearchEngine;
+        this.itemNameSuggester = itemNameSuggester;
+        this.itemDetailsCache = itemDetailsCache;
+        this.bookingCounterService = bookingCounterService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
 
     public ItemDTO addItem(long userId, ItemDTO itemDTO) {
         validate(itemDTO, userId);
@@ -63,9 +122,52 @@ public class ItemService {
             itemDTO.setId(item.getId());
         }
 
+        itemSearchEngine.index(item);
+        itemNameSuggester.index(item);
+
         return itemDTO;
     }
 
+    public List<ItemDTO> addItems(long userId, List<ItemDTO> itemDTOs) {
+        if (itemDTOs.isEmpty()) {
+            throw new BadRequestException("Items cannot be empty");
+        }
+
+        User owner = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+
+        for (ItemDTO itemDTO : itemDTOs) {
+            validate(itemDTO);
+            itemDTO.setOwner(owner);
+        }
+
+        Set<Long> requestIds = itemDTOs.stream()
+                .map(ItemDTO::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Request> requests = requestIds.isEmpty() ? Map.of() : requestRepository.findAllById(requestIds)
+                .stream()
+                .collect(Collectors.toMap(Request::getId, Function.identity()));
+
+        if (requests.size() != requestIds.size()) {
+            throw new NotFoundException("Request not found");
+        }
+
+        log.info("Adding {} items", itemDTOs.size());
+
+        List<Item> items = itemDTOs.stream()
+                .map(itemDTO -> itemDTO.getRequestId() != null
+                        ? itemMapper.toModel(itemDTO, requests.get(itemDTO.getRequestId()))
+                        : itemMapper.toModel(itemDTO))
+                .collect(Collectors.toList());
+
+        List<Item> savedItems = itemRepository.saveAll(items);
+        savedItems.forEach(itemSearchEngine::index);
+        savedItems.forEach(itemNameSuggester::index);
+
+        return itemMapper.toDTOList(savedItems);
+    }
+
     public CommentDTO addComment(long userId, long itemId, CommentDTO commentDTO) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
@@ -84,23 +186,35 @@ public class ItemService {
             comment.setItem(item);
             comment.setCreated(LocalDateTime.now());
 
-            return commentMapper.toDTO(commentRepository.save(comment));
+            CommentDTO savedComment = commentMapper.toDTO(commentRepository.save(comment));
+            eventPublisher.publishEvent(new ItemChangedEvent(itemId));
+
+            return savedComment;
         }
     }
 
     public ItemDTO getById(long userId, long itemId) {
         log.info("Getting item with ID: {}", itemId);
 
+        Optional<ItemDTO> cachedItem = itemDetailsCache.get(itemId, userId);
+
+        if (cachedItem.isPresent()) {
+            return cachedItem.get();
+        }
+
+        long cacheStamp = itemDetailsCache.stamp(itemId);
+
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found"));
 
         ItemDTO itemDTO = itemMapper.toDTO(item);
 
         if (item.getOwner().getId() == userId) {
-            setBooking(itemDTO, itemId);
+            setBookings(List.of(itemDTO));
         }
 
         itemDTO.setComments(commentMapper.toDTOList(commentRepository.findAllByItemId(itemId)));
+        itemDetailsCache.put(itemId, item.getOwner().getId(), userId, itemDTO, cacheStamp);
 
         return itemDTO;
     }
@@ -110,11 +224,42 @@ public class ItemService {
         log.info("Getting all items by user ID: {}", userId);
 
         List<ItemDTO> items = itemMapper.toDTOList(itemRepository.findAllByOwnerIdOrderByIdAsc(userId, pageable));
-        items.forEach(itemDTO -> setBooking(itemDTO, itemDTO.getId()));
+        setBookings(items);
+
+        return items;
+    }
+
+    public List<ItemDTO> getItemsByUserId(long userId, PageCursor after, int size) {
+
+        log.info("Getting items by user ID: {} after item ID: {}", userId, after.getId());
+
+        List<ItemDTO> items = itemMapper.toDTOList(itemRepository
+                .findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(userId, after.getId(), PageRequest.of(0, size)));
+        setBookings(items);
 
         return items;
     }
 
+    public List<AvailabilityDTO> getAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("Incorrect availability range");
+        }
+
+        userExistenceCache.requireExists(userId);
+
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item not found"));
+
+        log.info("Getting availability of item with ID: {} from {} to {}", itemId, from, to);
+
+        if (!item.getAvailable()) {
+            return List.of();
+        }
+
+        return ItemTimeline.of(bookingRepository.findActiveIntervalsByItemIdBetween(itemId,
+                BookingConflictIndex.ACTIVE_STATUSES, from, to)).freeWindows(from, to);
+    }
+
     public List<ItemDTO> getItemsByText(String text, Pageable pageable) {
         log.info("Getting all items by text: {}", text);
 
@@ -122,7 +267,13 @@ public class ItemService {
             return List.of();
         }
 
-        return itemMapper.toDTOList(itemRepository.search(text.toLowerCase(), pageable));
+        return itemMapper.toDTOList(itemSearchEngine.search(text, pageable));
+    }
+
+    public List<String> getSuggestions(String prefix, int size) {
+        log.info("Getting item name suggestions by prefix: {}", prefix);
+
+        return itemNameSuggester.suggest(prefix, size);
     }
 
     public ItemDTO updateItem(long userId, long itemId, ItemDTO itemDto) {
@@ -131,24 +282,40 @@ public class ItemService {
 
         log.info("Updating item with ID: {}", itemId);
 
-        return itemMapper.toDTO(itemRepository.save(item));
+        Item updatedItem = itemRepository.save(item);
+        itemSearchEngine.index(updatedItem);
+        itemNameSuggester.index(updatedItem);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
+
+        return itemMapper.toDTO(updatedItem);
     }
 
     public void removeItemById(long userId, long itemId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        userExistenceCache.requireExists(userId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<Long> affectedUserIds = bookingCounterService.findUsersAffectedByItem(itemId);
 
-        itemRepository.deleteById(itemId);
+            itemRepository.deleteById(itemId);
+            bookingCounterService.recount(affectedUserIds);
+        });
+
+        itemSearchEngine.remove(itemId);
+        itemNameSuggester.remove(itemId);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
     }
 
     private void validate(ItemDTO itemDTO, long userId) {
+        validate(itemDTO);
+        itemDTO.setOwner(userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User not found")));
+    }
+
+    private void validate(ItemDTO itemDTO) {
         if (itemDTO.getAvailable() == null) {
             throw new BadRequestException("Available cannot be null");
         } else if (itemDTO.getDescription() == null) {
             throw new BadRequestException("Description cannot be null");
-        } else {
-            itemDTO.setOwner(userRepository.findById(userId)
-                    .orElseThrow(() -> new NotFoundException("User not found")));
         }
     }
 
@@ -162,6 +329,7 @@ public class ItemService {
         if (itemBeforeUpdate.getOwner().equals(user)) {
             item.setId(itemId);
             item.setOwner(user);
+            item.setVersion(itemBeforeUpdate.getVersion());
 
             if (item.getName() == null && item.getDescription() == null) {
                 item.setName(itemBeforeUpdate.getName());
@@ -181,11 +349,25 @@ public class ItemService {
         }
     }
 
-    private void setBooking(ItemDTO itemDTO, long itemId) {
-        Optional<Booking> lastBooking = bookingRepository.findLastBooking(itemId, LocalDateTime.now());
-        Optional<Booking> nextBooking = bookingRepository.findNextBooking(itemId, LocalDateTime.now());
+    private void setBookings(List<ItemDTO> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime currentTime = LocalDateTime.now();
+        Map<Long, ItemDTO> itemDTOMap = items.stream()
+                .collect(Collectors.toMap(ItemDTO::getId, Function.identity()));
 
-        lastBooking.ifPresent(booking -> itemDTO.setLastBooking(bookingMapper.toSimpleDTO(booking)));
-        nextBooking.ifPresent(booking -> itemDTO.setNextBooking(bookingMapper.toSimpleDTO(booking)));
+        for (ItemBookingDTO booking : bookingRepository.findLastAndNextBookings(itemDTOMap.keySet(), currentTime)) {
+            ItemDTO itemDTO = itemDTOMap.get(booking.getItemId());
+
+            if (booking.getStart().isAfter(currentTime)) {
+                if (itemDTO.getNextBooking() == null) {
+                    itemDTO.setNextBooking(bookingMapper.toSimpleDTO(booking));
+                }
+            } else if (itemDTO.getLastBooking() == null) {
+                itemDTO.setLastBooking(bookingMapper.toSimpleDTO(booking));
+            }
+        }
     }
 }
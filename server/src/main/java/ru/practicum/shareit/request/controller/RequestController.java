@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -10,11 +11,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.common.ETags;
 import ru.practicum.shareit.common.MyPageRequest;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.item.dto.ItemDTO;
 import ru.practicum.shareit.request.dto.RequestDTO;
 import ru.practicum.shareit.request.service.RequestService;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
@@ -35,15 +40,29 @@ public class RequestController {
     }
 
     @GetMapping("/all")
-    public List<RequestDTO> getAllRequestList(@RequestHeader(SHARER_USER_ID) long userId,
-                                              @RequestParam(defaultValue = "0", required = false) Integer from,
-                                              @RequestParam(defaultValue = "10", required = false) Integer size) {
-        return requestService.getAllRequestList(userId, new MyPageRequest(from, size, Sort.unsorted()));
+    public ResponseEntity<List<RequestDTO>> getAllRequestList(@RequestHeader(SHARER_USER_ID) long userId,
+                                                              @RequestParam(defaultValue = "0", required = false) Integer from,
+                                                              @RequestParam(defaultValue = "10", required = false) Integer size,
+                                                              @RequestParam(required = false) String after) {
+        List<RequestDTO> requests = after == null
+                ? requestService.getAllRequestList(userId, new MyPageRequest(from, size, Sort.unsorted()))
+                : requestService.getAllRequestList(userId, PageCursor.decode(after), size);
+
+        return PageCursor.toResponse(requests, size, request -> PageCursor.of(request.getCreated(), request.getId()));
     }
 
     @GetMapping("/{requestId}")
-    public RequestDTO getRequest(@RequestHeader(SHARER_USER_ID) long userId,
-                                 @PathVariable long requestId) {
-        return requestService.getRequestById(userId, requestId);
+    public ResponseEntity<RequestDTO> getRequest(@RequestHeader(SHARER_USER_ID) long userId,
+                                                 @PathVariable long requestId) {
+        RequestDTO request = requestService.getRequestById(userId, requestId);
+
+        return ETags.toResponse(request, ETags.of("request", request.getId(), request.getVersion(),
+                itemVersions(request.getItems())));
+    }
+
+    private static List<String> itemVersions(List<ItemDTO> items) {
+        return items.stream()
+                .map(item -> item.getId() + ":" + item.getVersion())
+                .collect(Collectors.toList());
     }
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 import ru.practicum.shareit.item.dto.ItemDTO;
@@ -14,4 +15,7 @@ public class RequestDTO {
     private LocalDateTime created;
     private String description;
     private List<ItemDTO> items;
+
+    @JsonIgnore
+    private long version;
 }
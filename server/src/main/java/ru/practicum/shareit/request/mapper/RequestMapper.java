@@ -25,6 +25,7 @@ public class RequestMapper implements BaseMapper<RequestDTO, Request> {
                 .description(itemRequest.getDescription())
                 .created(itemRequest.getCreated())
                 .items(new ArrayList<>())
+                .version(itemRequest.getVersion())
                 .build();
     }
 
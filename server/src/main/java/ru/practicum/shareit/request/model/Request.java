@@ -15,6 +15,7 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 
 @Getter
@@ -38,4 +39,8 @@ public class Request {
     @ManyToOne
     @JoinColumn(name = "owner_id")
     private User owner;
+
+    @Version
+    @Column(name = "version")
+    private long version;
 }
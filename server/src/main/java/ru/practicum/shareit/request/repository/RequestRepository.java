@@ -5,12 +5,20 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.Request;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
     List<Request> findAllByOwnerIdOrderByCreatedDesc(long userId);
 
     @Query("SELECT request FROM Request AS request " +
-            "WHERE request.owner.id <> ?1")
+            "WHERE request.owner.id <> ?1 " +
+            "ORDER BY request.created DESC, request.id DESC")
     List<Request> findAllByPageable(long userId, Pageable pageable);
+
+    @Query("SELECT request FROM Request AS request " +
+            "WHERE request.owner.id <> ?1 " +
+            "AND (request.created < ?2 OR (request.created = ?2 AND request.id < ?3)) " +
+            "ORDER BY request.created DESC, request.id DESC")
+    List<Request> findAllAfter(long userId, LocalDateTime created, long id, Pageable pageable);
 }
@@ -3,8 +3,10 @@ package ru.practicum.shareit.request.service;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDTO;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -13,12 +15,13 @@ import ru.practicum.shareit.request.dto.RequestDTO;
 import ru.practicum.shareit.request.mapper.RequestMapper;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -29,12 +32,14 @@ public class RequestService {
     private static final Logger log = LoggerFactory.getLogger(RequestService.class);
     private final RequestRepository itemRequestRepository;
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
     private final RequestMapper itemRequestMapper;
     private final ItemMapper itemMapper;
     private final ItemRepository itemRepository;
 
     public RequestDTO addRequest(long userId, RequestDTO requestDTO) {
-        User user = checkUser(userId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
 
         Request request = itemRequestMapper.toModel(requestDTO);
         request.setCreated(LocalDateTime.now());
@@ -46,7 +51,7 @@ public class RequestService {
     }
 
     public List<RequestDTO> getRequestListByOwnerId(long userId) {
-        checkUser(userId);
+        userExistenceCache.requireExists(userId);
 
         List<RequestDTO> requests = itemRequestMapper.toDTOList(itemRequestRepository
                 .findAllByOwnerIdOrderByCreatedDesc(userId));
@@ -60,9 +65,20 @@ public class RequestService {
     }
 
     public List<RequestDTO> getAllRequestList(long userId, Pageable pageable) {
-        checkUser(userId);
+        userExistenceCache.requireExists(userId);
+
+        return getRequestDTOs(itemRequestRepository.findAllByPageable(userId, pageable));
+    }
 
-        List<RequestDTO> requests = itemRequestRepository.findAllByPageable(userId, pageable)
+    public List<RequestDTO> getAllRequestList(long userId, PageCursor after, int size) {
+        userExistenceCache.requireExists(userId);
+
+        return getRequestDTOs(itemRequestRepository.findAllAfter(userId, after.requireTimestamp(), after.getId(),
+                PageRequest.of(0, size)));
+    }
+
+    private List<RequestDTO> getRequestDTOs(List<Request> requestList) {
+        List<RequestDTO> requests = requestList
                 .stream()
                 .map(itemRequestMapper::toDTO)
                 .collect(Collectors.toList());
@@ -78,7 +94,7 @@ public class RequestService {
     }
 
     public RequestDTO getRequestById(long userId, long requestId) {
-        checkUser(userId);
+        userExistenceCache.requireExists(userId);
 
         Request request = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Request not found"));
@@ -92,7 +108,7 @@ public class RequestService {
     }
 
     private List<RequestDTO> getRequestDTOs(List<RequestDTO> requests, List<ItemDTO> items) {
-        Map<Long, RequestDTO> requestDTOMap = new HashMap<>();
+        Map<Long, RequestDTO> requestDTOMap = new LinkedHashMap<>();
 
         for (RequestDTO request : requests) {
             requestDTOMap.put(request.getId(), request);
@@ -106,9 +122,4 @@ public class RequestService {
 
         return new ArrayList<>(requestDTOMap.values());
     }
-
-    private User checkUser(long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
-    }
 }
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.user.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class UserExistenceCache {
+    private static final Logger log = LoggerFactory.getLogger(UserExistenceCache.class);
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Set<Long> knownIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> removedIds = ConcurrentHashMap.newKeySet();
+
+    // Deletes made by other server instances never reach this set, so it is only enabled for a single instance.
+    public UserExistenceCache(UserRepository userRepository,
+                              @Value("${shareit.user-cache.enabled}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        long lastId = 0;
+        List<Long> ids;
+
+        do {
+            ids = userRepository.findIdsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+
+            if (!ids.isEmpty()) {
+                ids.forEach(this::remember);
+                lastId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == LOAD_BATCH_SIZE);
+
+        log.info("User existence cache loaded, users: {}", knownIds.size());
+    }
+
+    public boolean exists(long userId) {
+        if (!enabled) {
+            return userRepository.existsById(userId);
+        }
+
+        if (removedIds.contains(userId)) {
+            return false;
+        }
+
+        if (knownIds.contains(userId)) {
+            return true;
+        }
+
+        if (userRepository.existsById(userId)) {
+            remember(userId);
+            return true;
+        }
+
+        return false;
+    }
+
+    public void requireExists(long userId) {
+        if (!exists(userId)) {
+            throw new NotFoundException("User not found");
+        }
+    }
+
+    public void add(long userId) {
+        if (enabled) {
+            remember(userId);
+        }
+    }
+
+    // User ids are never reused, so a removed id stays a tombstone and a lookup that read the row before
+    // the delete cannot bring it back.
+    public void remove(long userId) {
+        if (enabled) {
+            removedIds.add(userId);
+        }
+
+        knownIds.remove(userId);
+    }
+
+    public int size() {
+        return knownIds.size();
+    }
+
+    private void remember(long userId) {
+        knownIds.add(userId);
+
+        if (removedIds.contains(userId)) {
+            knownIds.remove(userId);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.common.ETags;
 import ru.practicum.shareit.user.dto.UserDTO;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -31,8 +33,10 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDTO getUser(@PathVariable long userId) {
-        return userService.getUserById(userId);
+    public ResponseEntity<UserDTO> getUser(@PathVariable long userId) {
+        UserDTO user = userService.getUserById(userId);
+
+        return ETags.toResponse(user, ETags.of("user", user.getId(), user.getVersion()));
     }
 
     @PatchMapping("/{userId}")
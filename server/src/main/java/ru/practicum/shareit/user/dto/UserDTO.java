@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 
@@ -9,4 +10,7 @@ public class UserDTO {
     long id;
     private String name;
     private String email;
+
+    @JsonIgnore
+    private long version;
 }
@@ -24,6 +24,7 @@ public class UserMapper implements BaseMapper<UserDTO, User> {
                 .id(user.getId())
                 .name(user.getName())
                 .email(user.getEmail())
+                .version(user.getVersion())
                 .build();
     }
 
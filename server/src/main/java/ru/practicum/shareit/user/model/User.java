@@ -12,6 +12,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 @Getter
 @Setter
@@ -30,4 +31,8 @@ public class User {
 
     @Column(name = "email", unique = true)
     private String email;
+
+    @Version
+    @Column(name = "version")
+    private long version;
 }
@@ -1,32 +1,64 @@
 package ru.practicum.shareit.user.service;
 
-import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.counter.BookingCounterService;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemChangedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.dto.UserDTO;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
-@RequiredArgsConstructor
 public class UserService {
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserExistenceCache userExistenceCache;
+    private final BookingCounterService bookingCounterService;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public UserService(UserRepository userRepository,
+                       UserMapper userMapper,
+                       UserExistenceCache userExistenceCache,
+                       BookingCounterService bookingCounterService,
+                       ItemRepository itemRepository,
+                       PlatformTransactionManager transactionManager,
+                       ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.userExistenceCache = userExistenceCache;
+        this.bookingCounterService = bookingCounterService;
+        this.itemRepository = itemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
 
     public UserDTO addUser(UserDTO userDTO) {
         User user = userMapper.toModel(userDTO);
 
         log.info("Adding user");
 
-        return userMapper.toDTO(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+        userExistenceCache.add(savedUser.getId());
+
+        return userMapper.toDTO(savedUser);
     }
 
     public UserDTO getUserById(long userId) {
@@ -55,7 +87,18 @@ public class UserService {
         if (userRepository.findById(userId).isPresent()) {
             log.info("Removing user with ID: {}", userId);
 
-            userRepository.deleteById(userId);
+            List<Long> affectedItemIds = transactionTemplate.execute(status -> {
+                Set<Long> affectedUserIds = bookingCounterService.findUsersAffectedByUser(userId);
+                List<Long> itemIds = itemRepository.findIdsAffectedByUser(userId);
+
+                userRepository.deleteById(userId);
+                bookingCounterService.recount(affectedUserIds);
+
+                return itemIds;
+            });
+
+            userExistenceCache.remove(userId);
+            affectedItemIds.forEach(itemId -> eventPublisher.publishEvent(new ItemChangedEvent(itemId)));
         } else {
             throw new NotFoundException("User not found");
         }
@@ -66,6 +109,7 @@ public class UserService {
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
         user.setId(userId);
+        user.setVersion(oldUser.getVersion());
 
         if (user.getName() == null) {
             if (StringUtils.isEmpty(user.getEmail())) {
@@ -0,0 +1,30 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings
+    ADD COLUMN IF NOT EXISTS period TSRANGE
+        GENERATED ALWAYS AS (tsrange(start_date, end_date, '[]')) STORED;
+
+CREATE INDEX IF NOT EXISTS bookings_booker_period_idx ON bookings USING GIST (booker_id, period);
+
+CREATE INDEX IF NOT EXISTS bookings_item_owner_period_idx ON bookings USING GIST (item_owner_id, period);
+
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint
+               WHERE conrelid = ''bookings''::regclass AND conname = ''bookings_approved_period_excl'') THEN
+        RETURN;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM bookings AS booking
+               JOIN bookings AS other ON other.item_id = booking.item_id AND other.id < booking.id
+               WHERE booking.status = ''APPROVED'' AND other.status = ''APPROVED''
+                 AND tsrange(other.start_date, other.end_date, ''[)'')
+                     && tsrange(booking.start_date, booking.end_date, ''[)'')) THEN
+        RAISE WARNING ''bookings_approved_period_excl is not created: approved bookings overlap, see README'';
+        RETURN;
+    END IF;
+
+    ALTER TABLE bookings ADD CONSTRAINT bookings_approved_period_excl
+        EXCLUDE USING GIST (item_id WITH =, tsrange(start_date, end_date, ''[)'') WITH &&)
+        WHERE (status = ''APPROVED'');
+END';
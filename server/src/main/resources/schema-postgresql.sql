@@ -0,0 +1,21 @@
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = ''items''::regclass AND conname = ''items_id_owner_uq'') THEN
+        ALTER TABLE items ADD CONSTRAINT items_id_owner_uq UNIQUE (id, owner_id);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = ''bookings''::regclass AND conname = ''bookings_item_owner_fk'') THEN
+        ALTER TABLE bookings ADD CONSTRAINT bookings_item_owner_fk FOREIGN KEY (item_id, item_owner_id)
+            REFERENCES items (id, owner_id) ON DELETE CASCADE ON UPDATE CASCADE;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = ''items''
+                 AND column_name = ''id'' AND is_identity = ''YES'') THEN
+        ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+        ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval(''items_seq'');
+        PERFORM setval(''items_seq'', (SELECT COALESCE(MAX(id), 0) + 50 FROM items), FALSE);
+    END IF;
+END';
@@ -2,27 +2,39 @@ CREATE TABLE IF NOT EXISTS users
 (
     id    BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY NOT NULL,
     name  VARCHAR(255)                                    NOT NULL,
-    email VARCHAR(256)                                    NOT NULL UNIQUE
+    email VARCHAR(256)                                    NOT NULL UNIQUE,
+    version BIGINT DEFAULT 0                              NOT NULL
     );
 
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
 CREATE TABLE IF NOT EXISTS requests
 (
     id          BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY NOT NULL,
     description VARCHAR(300),
     created     TIMESTAMP WITHOUT TIME ZONE,
-    owner_id    BIGINT REFERENCES users (id)
+    owner_id    BIGINT REFERENCES users (id),
+    version     BIGINT DEFAULT 0 NOT NULL
     );
 
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS items
 (
-    id           BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY NOT NULL,
+    id           BIGINT DEFAULT nextval('items_seq') PRIMARY KEY NOT NULL,
     name         VARCHAR(255)                                    NOT NULL,
     description  VARCHAR(300)                                    NOT NULL,
     is_available BOOLEAN                                         NOT NULL,
     owner_id     BIGINT REFERENCES users (id) ON DELETE CASCADE,
-    request_id   BIGINT REFERENCES requests (id)
+    request_id   BIGINT REFERENCES requests (id),
+    version      BIGINT DEFAULT 0                                NOT NULL,
+    CONSTRAINT items_id_owner_uq UNIQUE (id, owner_id)
     );
 
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
 CREATE TABLE IF NOT EXISTS bookings
 (
     id         BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY NOT NULL,
@@ -30,9 +42,27 @@ CREATE TABLE IF NOT EXISTS bookings
     end_date   TIMESTAMP WITHOUT TIME ZONE,
     status     VARCHAR,
     item_id    BIGINT REFERENCES items (id) ON DELETE CASCADE,
-    booker_id  BIGINT REFERENCES users (id) ON DELETE CASCADE
+    booker_id  BIGINT REFERENCES users (id) ON DELETE CASCADE,
+    item_owner_id BIGINT,
+    CONSTRAINT bookings_item_owner_fk FOREIGN KEY (item_id, item_owner_id)
+        REFERENCES items (id, owner_id) ON DELETE CASCADE ON UPDATE CASCADE
     );
 
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS item_owner_id BIGINT;
+
+UPDATE bookings
+SET item_owner_id = (SELECT items.owner_id FROM items WHERE items.id = bookings.item_id)
+WHERE item_owner_id IS NULL
+  AND item_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS bookings_item_owner_start_idx ON bookings (item_owner_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_date);
+
+CREATE INDEX IF NOT EXISTS bookings_status_start_idx ON bookings (status, start_date);
+
 CREATE TABLE IF NOT EXISTS comments
 (
     id        BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY NOT NULL,
@@ -40,4 +70,43 @@ CREATE TABLE IF NOT EXISTS comments
     created   TIMESTAMP WITHOUT TIME ZONE,
     item_id   BIGINT REFERENCES items (id) ON DELETE CASCADE,
     author_id BIGINT REFERENCES users (id) ON DELETE CASCADE
-    );
\ No newline at end of file
+    );
+CREATE TABLE IF NOT EXISTS booking_counters
+(
+    user_id       BIGINT REFERENCES users (id) ON DELETE CASCADE NOT NULL,
+    role          VARCHAR(10)                                    NOT NULL,
+    all_count     BIGINT DEFAULT 0                               NOT NULL,
+    current_count BIGINT DEFAULT 0                               NOT NULL,
+    past_count    BIGINT DEFAULT 0                               NOT NULL,
+    future_count  BIGINT DEFAULT 0                               NOT NULL,
+    waiting_count BIGINT DEFAULT 0                               NOT NULL,
+    rejected_count BIGINT DEFAULT 0                              NOT NULL,
+    PRIMARY KEY (user_id, role)
+    );
+
+CREATE TABLE IF NOT EXISTS booking_counter_sweeps
+(
+    id       BIGINT PRIMARY KEY          NOT NULL,
+    swept_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+    );
+
+INSERT INTO booking_counter_sweeps (id, swept_at)
+SELECT 1, LOCALTIMESTAMP
+WHERE NOT EXISTS (SELECT 1 FROM booking_counter_sweeps);
+
+CREATE TABLE IF NOT EXISTS booking_events
+(
+    id         BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY NOT NULL,
+    booking_id BIGINT                                          NOT NULL,
+    item_id    BIGINT                                          NOT NULL,
+    booker_id  BIGINT                                          NOT NULL,
+    owner_id   BIGINT                                          NOT NULL,
+    status     VARCHAR                                         NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE                     NOT NULL
+    );
+
+CREATE INDEX IF NOT EXISTS booking_events_booker_idx ON booking_events (booker_id, id);
+
+CREATE INDEX IF NOT EXISTS booking_events_owner_idx ON booking_events (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS booking_events_created_idx ON booking_events (created_at);
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking.conflict;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseBookingConflictIndexTest {
+    private final LocalDateTime start = LocalDateTime.of(2022, 10, 1, 12, 0);
+    private final LocalDateTime end = start.plusDays(1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private DatabaseBookingConflictIndex conflictIndex;
+
+    @Test
+    void shouldRejectOverlappingBooking() {
+        when(bookingRepository.existsActiveOverlapping(1L, BookingConflictIndex.ACTIVE_STATUSES, start, end))
+                .thenReturn(true);
+
+        assertThrows(ValidationException.class, () -> conflictIndex.checkAvailability(1L, start, end));
+    }
+
+    @Test
+    void shouldAllowFreeDates() {
+        when(bookingRepository.existsActiveOverlapping(1L, BookingConflictIndex.ACTIVE_STATUSES, start, end))
+                .thenReturn(false);
+
+        assertDoesNotThrow(() -> conflictIndex.checkAvailability(1L, start, end));
+    }
+}
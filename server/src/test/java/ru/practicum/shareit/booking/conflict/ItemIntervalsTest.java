@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking.conflict;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemIntervalsTest {
+    private final LocalDateTime now = LocalDateTime.of(2022, 10, 1, 12, 0);
+    private ItemIntervals intervals;
+
+    @BeforeEach
+    void beforeEach() {
+        intervals = new ItemIntervals();
+        intervals.add(1L, now.plusDays(1), now.plusDays(3));
+        intervals.add(2L, now.plusDays(5), now.plusDays(6));
+    }
+
+    @Test
+    void shouldDetectOverlappingInterval() {
+        assertTrue(intervals.overlaps(now.plusDays(2), now.plusDays(4)));
+        assertTrue(intervals.overlaps(now, now.plusDays(10)));
+        assertTrue(intervals.overlaps(now.plusDays(5).plusHours(1), now.plusDays(5).plusHours(2)));
+    }
+
+    @Test
+    void shouldDetectOverlapWithLongIntervalHiddenBehindShorterOne() {
+        intervals.add(3L, now.plusDays(10), now.plusDays(20));
+        intervals.add(4L, now.plusDays(11), now.plusDays(12));
+
+        assertTrue(intervals.overlaps(now.plusDays(14), now.plusDays(15)));
+    }
+
+    @Test
+    void shouldAllowAdjacentAndFreeIntervals() {
+        assertFalse(intervals.overlaps(now, now.plusDays(1)));
+        assertFalse(intervals.overlaps(now.plusDays(3), now.plusDays(5)));
+        assertFalse(intervals.overlaps(now.plusDays(6), now.plusDays(7)));
+    }
+
+    @Test
+    void shouldFreeRemovedInterval() {
+        intervals.remove(1L);
+
+        assertFalse(intervals.overlaps(now.plusDays(2), now.plusDays(4)));
+        assertEquals(1, intervals.size());
+    }
+
+    @Test
+    void shouldReplaceIntervalWithSameId() {
+        intervals.add(1L, now.plusDays(8), now.plusDays(9));
+
+        assertFalse(intervals.overlaps(now.plusDays(2), now.plusDays(4)));
+        assertTrue(intervals.overlaps(now.plusDays(8), now.plusDays(10)));
+        assertEquals(2, intervals.size());
+    }
+
+    @Test
+    void shouldRemoveEndedIntervals() {
+        intervals.removeEndedBefore(now.plusDays(4));
+
+        assertEquals(1, intervals.size());
+        assertFalse(intervals.overlaps(now.plusDays(2), now.plusDays(4)));
+    }
+
+    @Test
+    void shouldRemoveEndedIntervalsHiddenBehindLongerOne() {
+        intervals.add(3L, now.plusDays(10), now.plusDays(20));
+        intervals.add(4L, now.plusDays(11), now.plusDays(12));
+
+        intervals.removeEndedBefore(now.plusDays(13));
+
+        assertEquals(1, intervals.size());
+        assertTrue(intervals.overlaps(now.plusDays(14), now.plusDays(15)));
+
+        intervals.remove(3L);
+
+        assertFalse(intervals.overlaps(now.plusDays(11), now.plusDays(12)));
+    }
+}
@@ -10,14 +10,18 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingDTO;
+import ru.practicum.shareit.booking.dto.BookingSummaryDTO;
+import ru.practicum.shareit.booking.dto.BookingViewDTO;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -27,6 +31,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -43,6 +48,8 @@ class BookingControllerTest {
     private BookingService service;
     private BookingDTO firstBookingDTO;
     private BookingDTO secondBookingDTO;
+    private BookingViewDTO firstBookingViewDTO;
+    private BookingViewDTO secondBookingViewDTO;
 
     @BeforeEach
     void beforeEach() {
@@ -61,6 +68,12 @@ class BookingControllerTest {
                 .end(LocalDateTime.now().plusDays(2))
                 .status(BookingStatus.APPROVED)
                 .build();
+
+        firstBookingViewDTO = new BookingViewDTO(1L, LocalDateTime.now(), LocalDateTime.now().plusDays(1),
+                BookingStatus.WAITING, 1L, "First Item", 3L);
+
+        secondBookingViewDTO = new BookingViewDTO(2L, LocalDateTime.now(), LocalDateTime.now().plusDays(2),
+                BookingStatus.APPROVED, 2L, "Second Item", 3L);
     }
 
     @Test
@@ -106,13 +119,16 @@ class BookingControllerTest {
     @Test
     void shouldReturnAllBookingsByBooker() throws Exception {
         when(service.getAllByBookerId(anyLong(), any(), any(Pageable.class)))
-                .thenReturn(List.of(firstBookingDTO, secondBookingDTO));
+                .thenReturn(List.of(firstBookingViewDTO, secondBookingViewDTO));
 
         mvc.perform(get("/bookings")
                         .header(SHARER_USER_ID, 1))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[*].itemId", containsInAnyOrder(1, 2)));
+                .andExpect(jsonPath("$[*].itemId", containsInAnyOrder(1, 2)))
+                .andExpect(jsonPath("$[*].item.name", containsInAnyOrder("First Item", "Second Item")))
+                .andExpect(jsonPath("$[0].booker.id").value(3))
+                .andExpect(jsonPath("$[0].item.owner").doesNotExist());
     }
 
     @Test
@@ -129,7 +145,7 @@ class BookingControllerTest {
     @Test
     void shouldReturnAllBookingsByOwner() throws Exception {
         when(service.getAllByOwnerId(anyLong(), any(), any(Pageable.class)))
-                .thenReturn(List.of(firstBookingDTO, secondBookingDTO));
+                .thenReturn(List.of(firstBookingViewDTO, secondBookingViewDTO));
 
         mvc.perform(get("/bookings/owner")
                         .header(SHARER_USER_ID, 2))
@@ -137,4 +153,49 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[*].itemId", containsInAnyOrder(1, 2)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnBookerSummary() throws Exception {
+        when(service.getBookerSummary(1L))
+                .thenReturn(BookingSummaryDTO.builder().all(5).current(1).past(2).future(2).waiting(1).build());
+
+        mvc.perform(get("/bookings/summary")
+                        .header(SHARER_USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(5))
+                .andExpect(jsonPath("$.current").value(1))
+                .andExpect(jsonPath("$.past").value(2))
+                .andExpect(jsonPath("$.future").value(2))
+                .andExpect(jsonPath("$.waiting").value(1))
+                .andExpect(jsonPath("$.rejected").value(0));
+    }
+
+    @Test
+    void shouldReturnOwnerSummary() throws Exception {
+        when(service.getOwnerSummary(2L))
+                .thenReturn(BookingSummaryDTO.builder().all(3).rejected(3).past(3).build());
+
+        mvc.perform(get("/bookings/owner/summary")
+                        .header(SHARER_USER_ID, 2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(3))
+                .andExpect(jsonPath("$.rejected").value(3));
+    }
+
+    @Test
+    void shouldSubscribeToBookingEvents() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        emitter.send(SseEmitter.event().id("4").name("booking").data("APPROVED"));
+        emitter.complete();
+
+        when(service.subscribe(1L, 3L))
+                .thenReturn(emitter);
+
+        mvc.perform(get("/bookings/events")
+                        .header(SHARER_USER_ID, 1)
+                        .header("Last-Event-ID", 3)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().string(containsString("event:booking")));
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.booking.counter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingPeriodDTO;
+import ru.practicum.shareit.booking.dto.BookingSummaryDTO;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingCounterServiceTest {
+    private static final Duration SWEEP_LAG = Duration.ofSeconds(30);
+
+    @Mock
+    private BookingCounterRepository bookingCounterRepository;
+
+    @Mock
+    private BookingCounterSweepRepository bookingCounterSweepRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingCounterService service;
+    private Booking booking;
+
+    @BeforeEach
+    void beforeEach() {
+        service = new BookingCounterService(bookingCounterRepository, bookingCounterSweepRepository,
+                bookingRepository, SWEEP_LAG);
+
+        User owner = User.builder().id(2L).build();
+
+        booking = Booking.builder()
+                .id(1L)
+                .item(Item.builder().id(1L).owner(owner).build())
+                .booker(User.builder().id(1L).build())
+                .status(BookingStatus.WAITING)
+                .build();
+    }
+
+    @Test
+    void shouldCountCreatedBookingAsFutureAndWaiting() {
+        service.recordCreated(booking);
+
+        verify(bookingCounterRepository).addCounts(1L, BookingRole.BOOKER, 1, 0, 0, 1, 1, 0);
+        verify(bookingCounterRepository).addCounts(2L, BookingRole.OWNER, 1, 0, 0, 1, 1, 0);
+    }
+
+    @Test
+    void shouldMoveWaitingToRejected() {
+        booking.setStatus(BookingStatus.REJECTED);
+
+        service.recordStatusChange(booking, BookingStatus.WAITING);
+
+        verify(bookingCounterRepository).addCounts(1L, BookingRole.BOOKER, 0, 0, 0, 0, -1, 1);
+        verify(bookingCounterRepository).addCounts(2L, BookingRole.OWNER, 0, 0, 0, 0, -1, 1);
+    }
+
+    @Test
+    void shouldIgnoreStatusChangeBetweenUncountedStatuses() {
+        booking.setStatus(BookingStatus.APPROVED);
+
+        service.recordStatusChange(booking, BookingStatus.APPROVED);
+
+        verify(bookingCounterRepository, never()).addCounts(anyLong(), any(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void shouldMoveBookingsBetweenTimeStatesOnSweep() {
+        LocalDateTime from = LocalDateTime.now().minusMinutes(5);
+        BookingCounterSweep sweep = new BookingCounterSweep(1L, from);
+
+        when(bookingCounterSweepRepository.findForUpdate(1L))
+                .thenReturn(Optional.of(sweep));
+        when(bookingRepository.findAllPeriodsCrossing(eq(from), any()))
+                .thenReturn(List.of(
+                        new BookingPeriodDTO(1L, 2L, from.plusMinutes(1), from.plusDays(1)),
+                        new BookingPeriodDTO(1L, 2L, from.minusDays(1), from.plusMinutes(1)),
+                        new BookingPeriodDTO(3L, 2L, from.plusMinutes(1), from.plusMinutes(2))));
+
+        service.sweep();
+
+        verify(bookingCounterRepository).addCounts(1L, BookingRole.BOOKER, 0, 0, 1, -1, 0, 0);
+        verify(bookingCounterRepository).addCounts(3L, BookingRole.BOOKER, 0, 0, 1, -1, 0, 0);
+        verify(bookingCounterRepository).addCounts(2L, BookingRole.OWNER, 0, 0, 2, -2, 0, 0);
+        assertTrue(sweep.getSweptAt().isAfter(from));
+        assertTrue(sweep.getSweptAt().isBefore(LocalDateTime.now().minus(SWEEP_LAG).plusSeconds(1)));
+    }
+
+    @Test
+    void shouldSkipSweepWithinLag() {
+        LocalDateTime from = LocalDateTime.now();
+
+        when(bookingCounterSweepRepository.findForUpdate(1L))
+                .thenReturn(Optional.of(new BookingCounterSweep(1L, from)));
+
+        service.sweep();
+
+        verify(bookingRepository, never()).findAllPeriodsCrossing(any(), any());
+    }
+
+    @Test
+    void shouldCreateMissingCountersFromBookings() {
+        LocalDateTime sweptAt = LocalDateTime.now().minusMinutes(1);
+
+        when(bookingCounterRepository.countByUserId(1L))
+                .thenReturn(0L);
+        when(bookingCounterSweepRepository.findForUpdate(1L))
+                .thenReturn(Optional.of(new BookingCounterSweep(1L, sweptAt)));
+        when(bookingRepository.countByBooker(1L, sweptAt))
+                .thenReturn(new BookingSummaryDTO(3L, 1L, 1L, 1L, 0L, 1L));
+        when(bookingRepository.countByOwner(1L, sweptAt))
+                .thenReturn(new BookingSummaryDTO(0L, null, null, null, null, null));
+
+        service.ensureCounters(List.of(1L));
+
+        verify(bookingCounterRepository).save(argThat(counter ->
+                counter.getRole() == BookingRole.BOOKER && counter.getAllCount() == 3
+                        && counter.getRejectedCount() == 1));
+        verify(bookingCounterRepository).save(argThat(counter ->
+                counter.getRole() == BookingRole.OWNER && counter.getAllCount() == 0));
+    }
+
+    @Test
+    void shouldNotLockSweepWhenCountersExist() {
+        when(bookingCounterRepository.countByUserId(1L))
+                .thenReturn(2L);
+
+        service.ensureCounters(List.of(1L));
+
+        verify(bookingCounterSweepRepository, never()).findForUpdate(anyLong());
+    }
+
+    @Test
+    void shouldRecountLockedCounters() {
+        LocalDateTime sweptAt = LocalDateTime.now().minusMinutes(1);
+
+        when(bookingCounterSweepRepository.findForUpdate(1L))
+                .thenReturn(Optional.of(new BookingCounterSweep(1L, sweptAt)));
+        when(bookingCounterRepository.findAllForUpdate(Set.of(1L)))
+                .thenReturn(List.of(BookingCounter.builder().userId(1L).role(BookingRole.OWNER).allCount(5L).build()));
+        when(bookingRepository.countByOwner(1L, sweptAt))
+                .thenReturn(new BookingSummaryDTO(2L, 0L, 1L, 1L, 0L, 0L));
+
+        service.recount(Set.of(1L));
+
+        verify(bookingCounterRepository).save(argThat(counter ->
+                counter.getRole() == BookingRole.OWNER && counter.getAllCount() == 2));
+        verify(bookingRepository, never()).countByBooker(anyLong(), any());
+    }
+}
@@ -0,0 +1,172 @@
+package ru.practicum.shareit.booking.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingEventRelayTest {
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private BookingEventRepository bookingEventRepository;
+
+    private BookingEventRelay relay;
+
+    @BeforeEach
+    void beforeEach() {
+        relay = new BookingEventRelay(bookingEventRepository, BATCH_SIZE, Duration.ofSeconds(5), Duration.ofMinutes(5),
+                Duration.ofHours(1), Duration.ofMinutes(30));
+    }
+
+    @Test
+    void shouldSkipToLatestEventWithoutSubscribers() {
+        when(bookingEventRepository.findMaxId())
+                .thenReturn(3L, 7L);
+
+        relay.relay();
+
+        verify(bookingEventRepository, never()).findAllByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    void shouldRelayEventsInBatches() {
+        when(bookingEventRepository.findMaxId())
+                .thenReturn(0L);
+        when(bookingEventRepository.findAllByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, BATCH_SIZE)))
+                .thenReturn(List.of(event(1L, LocalDateTime.now()), event(2L, LocalDateTime.now())));
+        when(bookingEventRepository.findAllByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, BATCH_SIZE)))
+                .thenReturn(List.of(event(3L, LocalDateTime.now())));
+
+        relay.subscribe(1L, null);
+        relay.relay();
+        relay.relay();
+
+        verify(bookingEventRepository, times(1)).findAllByIdGreaterThanOrderByIdAsc(eq(2L), any());
+        verify(bookingEventRepository, times(1)).findAllByIdGreaterThanOrderByIdAsc(eq(3L), any());
+    }
+
+    @Test
+    void shouldWaitForUncommittedEventBeforeGap() {
+        when(bookingEventRepository.findMaxId())
+                .thenReturn(1L);
+        when(bookingEventRepository.findAllByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, BATCH_SIZE)))
+                .thenReturn(List.of(event(3L, LocalDateTime.now())));
+
+        relay.subscribe(1L, null);
+        relay.relay();
+        relay.relay();
+
+        verify(bookingEventRepository, times(2)).findAllByIdGreaterThanOrderByIdAsc(eq(1L), any());
+    }
+
+    @Test
+    void shouldSkipGapAfterTimeout() {
+        when(bookingEventRepository.findMaxId())
+                .thenReturn(1L);
+        when(bookingEventRepository.findAllByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, BATCH_SIZE)))
+                .thenReturn(List.of(event(3L, LocalDateTime.now().minusMinutes(1))));
+
+        relay.subscribe(1L, null);
+        relay.relay();
+        relay.relay();
+
+        verify(bookingEventRepository, times(1)).findAllByIdGreaterThanOrderByIdAsc(eq(3L), any());
+    }
+
+    @Test
+    void shouldRelaySkippedEventThatCommitsLate() {
+        when(bookingEventRepository.findMaxId())
+                .thenReturn(1L);
+        when(bookingEventRepository.findAllByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, BATCH_SIZE)))
+                .thenReturn(List.of(event(3L, LocalDateTime.now().minusMinutes(1))));
+        when(bookingEventRepository.findAllByIdInOrderByIdAsc(List.of(2L)))
+                .thenReturn(List.of(event(2L, LocalDateTime.now().minusMinutes(1))));
+
+        relay.subscribe(1L, null);
+        relay.relay();
+        relay.relay();
+        relay.relay();
+
+        verify(bookingEventRepository, times(1)).findAllByIdInOrderByIdAsc(any());
+        assertEquals(1, relay.subscriberCount());
+    }
+
+    @Test
+    void shouldReplayMissedEventsOnSubscribe() {
+        when(bookingEventRepository.findMaxId())
+                .thenReturn(5L);
+        when(bookingEventRepository.findAllByUserBetween(1L, 2L, 5L, PageRequest.of(0, BATCH_SIZE)))
+                .thenReturn(List.of(event(4L, LocalDateTime.now())));
+
+        relay.subscribe(1L, 2L);
+
+        assertEquals(1, relay.subscriberCount());
+    }
+
+    @Test
+    void shouldReplayMissedEventsPageByPage() {
+        when(bookingEventRepository.findMaxId())
+                .thenReturn(5L);
+        when(bookingEventRepository.findAllByUserBetween(1L, 0L, 5L, PageRequest.of(0, BATCH_SIZE)))
+                .thenReturn(List.of(event(1L, LocalDateTime.now()), event(2L, LocalDateTime.now())));
+        when(bookingEventRepository.findAllByUserBetween(1L, 2L, 5L, PageRequest.of(0, BATCH_SIZE)))
+                .thenReturn(List.of(event(3L, LocalDateTime.now()), event(4L, LocalDateTime.now())));
+        when(bookingEventRepository.findAllByUserBetween(1L, 4L, 5L, PageRequest.of(0, BATCH_SIZE)))
+                .thenReturn(List.of(event(5L, LocalDateTime.now())));
+
+        relay.subscribe(1L, 0L);
+
+        verify(bookingEventRepository, times(3)).findAllByUserBetween(eq(1L), anyLong(), eq(5L), any());
+        assertEquals(1, relay.subscriberCount());
+    }
+
+    @Test
+    void shouldRelayWhileSubscriberReplays() {
+        when(bookingEventRepository.findMaxId())
+                .thenReturn(2L);
+        when(bookingEventRepository.findAllByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, BATCH_SIZE)))
+                .thenReturn(List.of(event(3L, LocalDateTime.now())));
+        when(bookingEventRepository.findAllByUserBetween(1L, 0L, 2L, PageRequest.of(0, BATCH_SIZE)))
+                .thenAnswer(invocation -> {
+                    CompletableFuture.runAsync(relay::relay).get(5, TimeUnit.SECONDS);
+                    return List.of(event(2L, LocalDateTime.now()));
+                });
+
+        relay.subscribe(1L, 0L);
+
+        verify(bookingEventRepository, times(1)).findAllByIdGreaterThanOrderByIdAsc(eq(2L), any());
+        assertEquals(1, relay.subscriberCount());
+    }
+
+    private static BookingEvent event(long id, LocalDateTime createdAt) {
+        return BookingEvent.builder()
+                .id(id)
+                .bookingId(id)
+                .itemId(1L)
+                .bookerId(1L)
+                .ownerId(2L)
+                .status(BookingStatus.APPROVED)
+                .createdAt(createdAt)
+                .build();
+    }
+}
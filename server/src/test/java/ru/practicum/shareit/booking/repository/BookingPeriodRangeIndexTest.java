@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingPeriodRangeIndexTest {
+    private static final int BOOKINGS_COUNT = 50_000;
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private static final String BOOKER_CURRENT_SQL = "SELECT id FROM bookings " +
+            "WHERE booker_id = ? " +
+            "AND period @> CAST(? AS TIMESTAMP) " +
+            "ORDER BY start_date DESC, id DESC";
+    private static final String OWNER_CURRENT_SQL = "SELECT id FROM bookings " +
+            "WHERE item_owner_id = ? " +
+            "AND period @> CAST(? AS TIMESTAMP) " +
+            "ORDER BY start_date DESC, id DESC";
+    private static final String INSERT_BOOKING_SQL = "INSERT INTO bookings " +
+            "(start_date, end_date, status, item_id, booker_id, item_owner_id) VALUES (?, ?, ?, ?, 2, 1)";
+
+    private static EmbeddedPostgres postgres;
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void beforeAll() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = new SingleConnectionDataSource(postgres.getPostgresDatabase().getConnection(), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"),
+                new ClassPathResource("schema-postgresql-range.sql")).execute(dataSource);
+
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES " +
+                "('Owner', 'owner@yandex.ru'), ('Booker', 'booker@yandex.ru')");
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) VALUES " +
+                "('Drill', 'Cordless drill', TRUE, 1), ('Hammer', 'Heavy hammer', TRUE, 1)");
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, status, item_id, booker_id, item_owner_id) " +
+                "SELECT CAST(? AS TIMESTAMP) - n * INTERVAL '1 day', " +
+                "CAST(? AS TIMESTAMP) - n * INTERVAL '1 day' + INTERVAL '1 hour', 'WAITING', 1, 2, 1 " +
+                "FROM generate_series(1, ?) AS n", NOW, NOW, BOOKINGS_COUNT);
+        jdbcTemplate.update(INSERT_BOOKING_SQL, NOW.minusHours(1), NOW.plusHours(1), "WAITING", 1);
+        jdbcTemplate.update(INSERT_BOOKING_SQL, NOW, NOW.plusDays(1), "WAITING", 1);
+        jdbcTemplate.execute("ANALYZE bookings");
+    }
+
+    @AfterAll
+    static void afterAll() throws IOException {
+        dataSource.destroy();
+        postgres.close();
+    }
+
+    @Test
+    void shouldUseGistIndexForCurrentState() {
+        String bookerPlan = explain(BOOKER_CURRENT_SQL, 2);
+        String ownerPlan = explain(OWNER_CURRENT_SQL, 1);
+
+        assertFalse(bookerPlan.contains("Seq Scan on bookings"), bookerPlan);
+        assertTrue(bookerPlan.contains("bookings_booker_period_idx"), bookerPlan);
+        assertFalse(ownerPlan.contains("Seq Scan on bookings"), ownerPlan);
+        assertTrue(ownerPlan.contains("bookings_item_owner_period_idx"), ownerPlan);
+    }
+
+    @Test
+    void shouldMatchBetweenSemantics() {
+        List<Long> ranged = jdbcTemplate.queryForList(BOOKER_CURRENT_SQL, Long.class, 2, NOW);
+        List<Long> between = jdbcTemplate.queryForList("SELECT id FROM bookings " +
+                "WHERE booker_id = ? AND CAST(? AS TIMESTAMP) BETWEEN start_date AND end_date " +
+                "ORDER BY start_date DESC, id DESC", Long.class, 2, NOW);
+
+        assertEquals(2, ranged.size());
+        assertEquals(between, ranged);
+        assertEquals(ranged, jdbcTemplate.queryForList(OWNER_CURRENT_SQL, Long.class, 1, NOW));
+    }
+
+    @Test
+    void shouldRejectOverlappingApprovedBookings() {
+        LocalDateTime start = NOW.plusYears(1);
+
+        jdbcTemplate.update(INSERT_BOOKING_SQL, start, start.plusDays(2), "APPROVED", 2);
+        jdbcTemplate.update(INSERT_BOOKING_SQL, start.plusDays(2), start.plusDays(3), "APPROVED", 2);
+        jdbcTemplate.update(INSERT_BOOKING_SQL, start.plusDays(1), start.plusDays(3), "WAITING", 2);
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(INSERT_BOOKING_SQL,
+                start.plusDays(1), start.plusDays(3), "APPROVED", 2));
+    }
+
+    @Test
+    void shouldKeepExclusionConstraintWhenScriptRunsAgain() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema-postgresql-range.sql")).execute(dataSource);
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_constraint " +
+                "WHERE conname = 'bookings_approved_period_excl'", Integer.class));
+    }
+
+    private String explain(String sql, long userId) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, userId, NOW));
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingViewDTO;
+import ru.practicum.shareit.booking.dto.ItemBookingDTO;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.common.MyPageRequest;
 import ru.practicum.shareit.item.model.Item;
@@ -16,11 +18,9 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 @DataJpaTest
@@ -70,11 +70,11 @@ class BookingRepositoryTest {
         entityManager.persist(item);
         entityManager.persist(booking);
 
-        List<Booking> bookingList = bookingRepository
+        List<BookingViewDTO> bookingList = bookingRepository
                 .findAllByBookerCurrentState(booker.getId(), LocalDateTime.now(), pageable);
 
         assertEquals(1, bookingList.size());
-        Assertions.assertEquals(booking, bookingList.get(0));
+        Assertions.assertEquals(booking.getId(), bookingList.get(0).getId());
     }
 
     @Test
@@ -87,11 +87,11 @@ class BookingRepositoryTest {
         entityManager.persist(item);
         entityManager.persist(booking);
 
-        List<Booking> bookingList = bookingRepository
+        List<BookingViewDTO> bookingList = bookingRepository
                 .findAllByBookerPastState(booker.getId(), LocalDateTime.now(), pageable);
 
         assertEquals(1, bookingList.size());
-        Assertions.assertEquals(booking, bookingList.get(0));
+        Assertions.assertEquals(booking.getId(), bookingList.get(0).getId());
     }
 
     @Test
@@ -104,11 +104,11 @@ class BookingRepositoryTest {
         entityManager.persist(item);
         entityManager.persist(booking);
 
-        List<Booking> bookingList = bookingRepository
+        List<BookingViewDTO> bookingList = bookingRepository
                 .findAllByBookerFutureState(booker.getId(), LocalDateTime.now(), pageable);
 
         assertEquals(1, bookingList.size());
-        Assertions.assertEquals(booking, bookingList.get(0));
+        Assertions.assertEquals(booking.getId(), bookingList.get(0).getId());
     }
 
     @Test
@@ -120,11 +120,11 @@ class BookingRepositoryTest {
         entityManager.persist(item);
         entityManager.persist(booking);
 
-        List<Booking> bookingList = bookingRepository
+        List<BookingViewDTO> bookingList = bookingRepository
                 .findAllByBookerAndStatus(booker.getId(), BookingStatus.WAITING, pageable);
 
         assertEquals(1, bookingList.size());
-        Assertions.assertEquals(booking, bookingList.get(0));
+        Assertions.assertEquals(booking.getId(), bookingList.get(0).getId());
     }
 
     @Test
@@ -137,11 +137,11 @@ class BookingRepositoryTest {
         entityManager.persist(item);
         entityManager.persist(booking);
 
-        List<Booking> bookingList = bookingRepository
+        List<BookingViewDTO> bookingList = bookingRepository
                 .findAllByOwnerCurrentState(owner.getId(), LocalDateTime.now(), pageable);
 
         assertEquals(1, bookingList.size());
-        Assertions.assertEquals(booking, bookingList.get(0));
+        Assertions.assertEquals(booking.getId(), bookingList.get(0).getId());
 
     }
 
@@ -155,11 +155,11 @@ class BookingRepositoryTest {
         entityManager.persist(item);
         entityManager.persist(booking);
 
-        List<Booking> bookingList = bookingRepository
+        List<BookingViewDTO> bookingList = bookingRepository
                 .findAllByOwnerPastState(owner.getId(), LocalDateTime.now(), pageable);
 
         assertEquals(1, bookingList.size());
-        Assertions.assertEquals(booking, bookingList.get(0));
+        Assertions.assertEquals(booking.getId(), bookingList.get(0).getId());
     }
 
     @Test
@@ -172,11 +172,11 @@ class BookingRepositoryTest {
         entityManager.persist(item);
         entityManager.persist(booking);
 
-        List<Booking> bookingList = bookingRepository
+        List<BookingViewDTO> bookingList = bookingRepository
                 .findAllByOwnerFutureState(owner.getId(), LocalDateTime.now(), pageable);
 
         assertEquals(1, bookingList.size());
-        Assertions.assertEquals(booking, bookingList.get(0));
+        Assertions.assertEquals(booking.getId(), bookingList.get(0).getId());
     }
 
     @Test
@@ -188,63 +188,118 @@ class BookingRepositoryTest {
         entityManager.persist(item);
         entityManager.persist(booking);
 
-        List<Booking> bookingList = bookingRepository
+        List<BookingViewDTO> bookingList = bookingRepository
                 .findAllByOwnerAndStatus(owner.getId(), BookingStatus.WAITING, pageable);
 
         assertEquals(1, bookingList.size());
-        Assertions.assertEquals(booking, bookingList.get(0));
+        Assertions.assertEquals(booking.getId(), bookingList.get(0).getId());
     }
 
     @Test
-    void findLastBookingTest() {
+    void findLastAndNextBookingsTest() {
         booking.setStart(LocalDateTime.now().minusDays(2));
         booking.setEnd(LocalDateTime.now().minusDays(1));
 
+        Booking nextBooking = Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+
+        Booking laterBooking = Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(LocalDateTime.now().plusDays(3))
+                .end(LocalDateTime.now().plusDays(4))
+                .build();
+
         entityManager.persist(owner);
         entityManager.persist(booker);
         entityManager.persist(item);
         entityManager.persist(booking);
+        entityManager.persist(nextBooking);
+        entityManager.persist(laterBooking);
 
-        Optional<Booking> lastBooking = bookingRepository
-                .findLastBooking(item.getId(), LocalDateTime.now());
+        List<ItemBookingDTO> bookings = bookingRepository
+                .findLastAndNextBookings(List.of(item.getId()), LocalDateTime.now());
 
-        assertTrue(lastBooking.isPresent());
-        Assertions.assertEquals(lastBooking.get().getStart(), booking.getStart());
-        Assertions.assertEquals(lastBooking.get().getEnd(), booking.getEnd());
+        assertEquals(2, bookings.size());
+        Assertions.assertEquals(booking.getId(), bookings.get(0).getId());
+        Assertions.assertEquals(nextBooking.getId(), bookings.get(1).getId());
+        Assertions.assertEquals(booker.getId(), bookings.get(1).getBookerId());
     }
 
     @Test
-    void findNextBookingTest() {
-        booking.setStart(LocalDateTime.now().plusDays(1));
-        booking.setEnd(LocalDateTime.now().plusDays(2));
+    void findAllByBookerAndItemTest() {
+        booking.setStart(LocalDateTime.now().minusDays(2));
+        booking.setEnd(LocalDateTime.now().minusDays(1));
 
         entityManager.persist(owner);
         entityManager.persist(booker);
         entityManager.persist(item);
         entityManager.persist(booking);
 
-        Optional<Booking> lastBooking = bookingRepository
-                .findNextBooking(item.getId(), LocalDateTime.now());
+        List<Booking> bookingList = bookingRepository
+                .findAllByBookerAndItem(booker.getId(), item.getId(), LocalDateTime.now());
 
-        assertTrue(lastBooking.isPresent());
-        Assertions.assertEquals(lastBooking.get().getStart(), booking.getStart());
-        Assertions.assertEquals(lastBooking.get().getEnd(), booking.getEnd());
+        assertEquals(1, bookingList.size());
+        Assertions.assertEquals(booking, bookingList.get(0));
     }
 
     @Test
-    void findAllByBookerAndItemTest() {
-        booking.setStart(LocalDateTime.now().minusDays(2));
-        booking.setEnd(LocalDateTime.now().minusDays(1));
+    void shouldCopyItemOwnerOnPersistTest() {
+        entityManager.persist(owner);
+        entityManager.persist(booker);
+        entityManager.persist(item);
+        entityManager.persist(booking);
+
+        assertEquals(owner.getId(), booking.getItemOwnerId());
+    }
+
+    @Test
+    void shouldCascadeItemOwnerChangeTest() {
+        booking.setStatus(BookingStatus.WAITING);
 
         entityManager.persist(owner);
         entityManager.persist(booker);
         entityManager.persist(item);
         entityManager.persist(booking);
+        entityManager.flush();
+
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE items SET owner_id = ?1 WHERE id = ?2")
+                .setParameter(1, booker.getId())
+                .setParameter(2, item.getId())
+                .executeUpdate();
+        entityManager.clear();
+
+        assertEquals(booker.getId(), entityManager.find(Booking.class, booking.getId()).getItemOwnerId());
+        assertEquals(1, bookingRepository
+                .findAllByOwnerAndStatus(booker.getId(), BookingStatus.WAITING, pageable).size());
+        assertEquals(0, bookingRepository
+                .findAllByOwnerAndStatus(owner.getId(), BookingStatus.WAITING, pageable).size());
+    }
 
-        List<Booking> bookingList = bookingRepository
-                .findAllByBookerAndItem(booker.getId(), item.getId(), LocalDateTime.now());
+    @Test
+    void existsActiveOverlappingTest() {
+        booking.setStart(LocalDateTime.now().plusDays(1));
+        booking.setEnd(LocalDateTime.now().plusDays(10));
+        booking.setStatus(BookingStatus.APPROVED);
 
-        assertEquals(1, bookingList.size());
-        Assertions.assertEquals(booking, bookingList.get(0));
+        entityManager.persist(owner);
+        entityManager.persist(booker);
+        entityManager.persist(item);
+        entityManager.persist(booking);
+
+        Assertions.assertTrue(bookingRepository.existsActiveOverlapping(item.getId(),
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED),
+                LocalDateTime.now().plusDays(5), LocalDateTime.now().plusDays(6)));
+        Assertions.assertFalse(bookingRepository.existsActiveOverlapping(item.getId(),
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED),
+                booking.getEnd(), booking.getEnd().plusDays(1)));
+        Assertions.assertFalse(bookingRepository.existsActiveOverlapping(item.getId(),
+                List.of(BookingStatus.WAITING),
+                LocalDateTime.now().plusDays(5), LocalDateTime.now().plusDays(6)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingViewDTO;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.MyPageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceIntegrationTest {
+    private static final int ITEM_COUNT = 4;
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final RequestRepository requestRepository;
+    private final BookingRepository bookingRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldLoadBookingPagesWithSingleStatement() {
+        User booker = saveUser("Booker", "booker@yandex.ru");
+        User requester = saveUser("Requester", "requester@yandex.ru");
+        User owner = saveUser("Owner", "owner@yandex.ru");
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            User itemOwner = i % 2 == 0 ? owner : saveUser("Owner " + i, "owner" + i + "@yandex.ru");
+
+            Request request = requestRepository.save(Request.builder()
+                    .description("Request " + i)
+                    .created(LocalDateTime.now())
+                    .owner(requester)
+                    .build());
+
+            Item item = itemRepository.save(Item.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .owner(itemOwner)
+                    .request(request)
+                    .build());
+
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(LocalDateTime.now().minusDays(i + 2))
+                    .end(LocalDateTime.now().minusDays(i + 1))
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<BookingViewDTO> bookerBookings = bookingService.getAllByBookerId(booker.getId(), "ALL",
+                new MyPageRequest(0, 10, Sort.unsorted()));
+
+        Assertions.assertEquals(ITEM_COUNT, bookerBookings.size());
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        List<BookingViewDTO> ownerBookings = bookingService.getAllByOwnerId(owner.getId(), "PAST",
+                new MyPageRequest(0, 10, Sort.unsorted()));
+
+        Assertions.assertEquals(ITEM_COUNT / 2, ownerBookings.size());
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        bookingService.getAllByBookerId(booker.getId(), "ALL", new MyPageRequest(0, 10, Sort.unsorted()));
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+
+        for (BookingViewDTO booking : bookerBookings) {
+            Assertions.assertEquals(booking.getItemId(), booking.getItem().getId());
+            Assertions.assertTrue(booking.getItem().getName().startsWith("Item "));
+            Assertions.assertEquals(booker.getId(), booking.getBooker().getId());
+        }
+    }
+
+    private User saveUser(String name, String email) {
+        return userRepository.save(User.builder()
+                .name(name)
+                .email(email)
+                .build());
+    }
+}
@@ -8,29 +8,48 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.conflict.BookingConflictIndex;
+import ru.practicum.shareit.booking.counter.BookingCounterService;
+import ru.practicum.shareit.booking.counter.BookingRole;
 import ru.practicum.shareit.booking.dto.BookingDTO;
+import ru.practicum.shareit.booking.dto.BookingSummaryDTO;
+import ru.practicum.shareit.booking.expiry.BookingExpiryWheel;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.outbox.BookingEventOutbox;
+import ru.practicum.shareit.booking.outbox.BookingEventRelay;
+import ru.practicum.shareit.booking.period.CurrentBookingFinder;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.common.MyPageRequest;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.BookingDateTimeException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UnsupportedStatusException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemChangedEvent;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -44,9 +63,36 @@ class BookingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private BookingConflictIndex bookingConflictIndex;
+
+    @Mock
+    private CurrentBookingFinder currentBookingFinder;
+
+    @Mock
+    private BookingCounterService bookingCounterService;
+
+    @Mock
+    private BookingExpiryWheel bookingExpiryWheel;
+
+    @Mock
+    private BookingEventOutbox bookingEventOutbox;
+
+    @Mock
+    private BookingEventRelay bookingEventRelay;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookingService service;
 
@@ -136,6 +182,107 @@ class BookingServiceTest {
                 .findById(item.getId());
         verify(bookingRepository, times(1))
                 .save(any(Booking.class));
+        verify(bookingCounterService, times(1))
+                .ensureCounters(List.of(booker.getId(), owner.getId()));
+        verify(bookingCounterService, times(1))
+                .recordCreated(booking);
+        verify(bookingExpiryWheel, times(1))
+                .register(booking.getId(), booking.getStart());
+        verify(itemRepository, times(1))
+                .findForUpdate(item.getId());
+        verify(bookingEventOutbox, times(1))
+                .record(booking);
+    }
+
+    @Test
+    void shouldExpireStartedWaitingBookings() {
+        booking.setStart(LocalDateTime.now().minusMinutes(1));
+
+        when(bookingExpiryWheel.pollExpired(any(LocalDateTime.class)))
+                .thenReturn(List.of(booking.getId()));
+        when(bookingRepository.findAllByIdInAndStatus(List.of(booking.getId()), BookingStatus.WAITING))
+                .thenReturn(List.of(booking));
+        when(bookingRepository.findIdsByIdInAndStatus(List.of(booking.getId()), BookingStatus.WAITING))
+                .thenReturn(List.of(booking.getId()));
+
+        service.expireWaitingBookings();
+
+        Assertions.assertEquals(BookingStatus.CANCELED, booking.getStatus());
+        verify(bookingRepository, times(1))
+                .cancelWaitingStartedBefore(eq(List.of(booking.getId())), any(LocalDateTime.class));
+        verify(bookingConflictIndex, times(1))
+                .remove(booking);
+        verify(bookingCounterService, times(1))
+                .recordExpired(List.of(booking));
+        verify(bookingEventOutbox, times(1))
+                .recordAll(List.of(booking));
+        verify(itemRepository, times(1))
+                .findForUpdate(item.getId());
+        verify(eventPublisher, times(1))
+                .publishEvent(any(ItemChangedEvent.class));
+    }
+
+    @Test
+    void shouldNotExpireBookingsNoLongerWaiting() {
+        when(bookingExpiryWheel.pollExpired(any(LocalDateTime.class)))
+                .thenReturn(List.of(booking.getId()));
+        when(bookingRepository.findAllByIdInAndStatus(List.of(booking.getId()), BookingStatus.WAITING))
+                .thenReturn(List.of());
+
+        service.expireWaitingBookings();
+
+        verify(bookingRepository, never())
+                .cancelWaitingStartedBefore(any(), any());
+        verify(bookingCounterService, never())
+                .recordExpired(any());
+        verify(bookingEventOutbox, never())
+                .recordAll(any());
+    }
+
+    @Test
+    void shouldNotExpireBookingDecidedUnderItemLock() {
+        booking.setStart(LocalDateTime.now().minusMinutes(1));
+
+        when(bookingExpiryWheel.pollExpired(any(LocalDateTime.class)))
+                .thenReturn(List.of(booking.getId()));
+        when(bookingRepository.findAllByIdInAndStatus(List.of(booking.getId()), BookingStatus.WAITING))
+                .thenReturn(List.of(booking));
+        when(bookingRepository.findIdsByIdInAndStatus(List.of(booking.getId()), BookingStatus.WAITING))
+                .thenReturn(List.of());
+
+        service.expireWaitingBookings();
+
+        Assertions.assertEquals(BookingStatus.WAITING, booking.getStatus());
+        verify(bookingRepository, never())
+                .cancelWaitingStartedBefore(any(), any());
+        verify(bookingCounterService, never())
+                .recordExpired(any());
+        verify(bookingEventOutbox, never())
+                .recordAll(any());
+        verify(eventPublisher, never())
+                .publishEvent(any(ItemChangedEvent.class));
+    }
+
+    @Test
+    void shouldSubscribeToBookingEvents() {
+        SseEmitter emitter = new SseEmitter();
+
+        when(bookingEventRelay.subscribe(booker.getId(), 5L))
+                .thenReturn(emitter);
+
+        Assertions.assertSame(emitter, service.subscribe(booker.getId(), 5L));
+        verify(userExistenceCache, times(1))
+                .requireExists(booker.getId());
+    }
+
+    @Test
+    void shouldNotSubscribeWithIncorrectUser() {
+        doThrow(new NotFoundException("User not found"))
+                .when(userExistenceCache).requireExists(FAKE_ID);
+
+        assertThrows(NotFoundException.class, () -> service.subscribe(FAKE_ID, null));
+        verify(bookingEventRelay, never())
+                .subscribe(anyLong(), any());
     }
 
     @Test
@@ -187,12 +334,52 @@ class BookingServiceTest {
         Assertions.assertEquals("Item available should be true", exception.getMessage());
     }
 
+    @Test
+    void shouldAddBookingWithConflictingDates() {
+        BookingDTO bookingDTO = bookingMapper.toDTO(booking);
+
+        when(userRepository.findById(booker.getId()))
+                .thenReturn(Optional.of(booker));
+        when(itemRepository.findById(item.getId()))
+                .thenReturn(Optional.of(item));
+        doThrow(new ValidationException("Item is already booked for these dates"))
+                .when(bookingConflictIndex).checkAvailability(anyLong(), any(), any());
+
+        final ValidationException exception = assertThrows(ValidationException.class,
+                () -> service.addBooking(booker.getId(), bookingDTO));
+
+        Assertions.assertEquals("Item is already booked for these dates", exception.getMessage());
+        verify(bookingRepository, never())
+                .save(any(Booking.class));
+    }
+
+    @Test
+    void shouldAddBookingAndCheckConflictIndexCalls() {
+        BookingDTO bookingDTO = bookingMapper.toDTO(booking);
+
+        when(userRepository.findById(booker.getId()))
+                .thenReturn(Optional.of(booker));
+        when(itemRepository.findById(item.getId()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.save(any(Booking.class)))
+                .thenReturn(booking);
+
+        service.addBooking(booker.getId(), bookingDTO);
+
+        verify(bookingConflictIndex, times(1))
+                .checkAvailability(item.getId(), bookingDTO.getStart(), bookingDTO.getEnd());
+        verify(bookingConflictIndex, times(1))
+                .add(booking);
+    }
+
     @Test
     void shouldChangeStatusApproved() {
         when(userRepository.findById(owner.getId()))
                 .thenReturn(Optional.of(owner));
         when(bookingRepository.findById(booking.getId()))
                 .thenReturn(Optional.of(booking));
+        when(bookingRepository.findStatusById(booking.getId()))
+                .thenReturn(Optional.of(BookingStatus.WAITING));
         when(bookingRepository.save(any(Booking.class)))
                 .thenReturn(booking);
 
@@ -201,18 +388,74 @@ class BookingServiceTest {
         Assertions.assertEquals(BookingStatus.APPROVED, updatedBooking.getStatus());
     }
 
+    @Test
+    void shouldChangeStatusApprovedWithOverlappingApprovedBooking() {
+        when(userRepository.findById(owner.getId()))
+                .thenReturn(Optional.of(owner));
+        when(bookingRepository.findById(booking.getId()))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.findStatusById(booking.getId()))
+                .thenReturn(Optional.of(BookingStatus.WAITING));
+        when(bookingRepository.save(any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("bookings_approved_period_excl"));
+
+        assertThrows(ValidationException.class,
+                () -> service.changeStatus(owner.getId(), booking.getId(), true));
+
+        verify(bookingConflictIndex, never())
+                .add(booking);
+    }
+
     @Test
     void shouldChangeStatusReject() {
         when(userRepository.findById(owner.getId()))
                 .thenReturn(Optional.of(owner));
         when(bookingRepository.findById(booking.getId()))
                 .thenReturn(Optional.of(booking));
+        when(bookingRepository.findStatusById(booking.getId()))
+                .thenReturn(Optional.of(BookingStatus.WAITING));
         when(bookingRepository.save(any(Booking.class)))
                 .thenReturn(booking);
 
         BookingDTO updatedBooking = service.changeStatus(owner.getId(), booking.getId(), false);
 
         Assertions.assertEquals(BookingStatus.REJECTED, updatedBooking.getStatus());
+        verify(bookingCounterService, times(1))
+                .recordStatusChange(booking, BookingStatus.WAITING);
+    }
+
+    @Test
+    void shouldReturnBookerSummaryFromCounters() {
+        BookingSummaryDTO summary = BookingSummaryDTO.builder().all(2).future(2).waiting(1).build();
+
+        when(bookingCounterService.findSummary(booker.getId(), BookingRole.BOOKER))
+                .thenReturn(Optional.of(summary));
+
+        Assertions.assertEquals(summary, service.getBookerSummary(booker.getId()));
+        verify(bookingCounterService, never())
+                .ensureCounters(any());
+    }
+
+    @Test
+    void shouldCreateMissingCountersForOwnerSummary() {
+        BookingSummaryDTO summary = BookingSummaryDTO.builder().all(1).past(1).build();
+
+        when(bookingCounterService.findSummary(owner.getId(), BookingRole.OWNER))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(summary));
+
+        Assertions.assertEquals(summary, service.getOwnerSummary(owner.getId()));
+        verify(bookingCounterService, times(1))
+                .ensureCounters(List.of(owner.getId()));
+    }
+
+    @Test
+    void shouldReturnSummaryWithIncorrectUser() {
+        doThrow(new NotFoundException("User not found"))
+                .when(userExistenceCache).requireExists(FAKE_ID);
+
+        assertThrows(NotFoundException.class,
+                () -> service.getBookerSummary(FAKE_ID));
     }
 
     @Test
@@ -221,6 +464,8 @@ class BookingServiceTest {
                 .thenReturn(Optional.of(owner));
         when(bookingRepository.findById(booking.getId()))
                 .thenReturn(Optional.of(booking));
+        when(bookingRepository.findStatusById(booking.getId()))
+                .thenReturn(Optional.of(BookingStatus.WAITING));
         when(bookingRepository.save(any(Booking.class)))
                 .thenReturn(booking);
 
@@ -232,6 +477,10 @@ class BookingServiceTest {
                 .findById(booking.getId());
         verify(bookingRepository, times(1))
                 .save(any(Booking.class));
+        verify(bookingConflictIndex, times(1))
+                .remove(booking);
+        verify(bookingEventOutbox, times(1))
+                .record(booking);
     }
 
     @Test
@@ -249,6 +498,65 @@ class BookingServiceTest {
         Assertions.assertEquals("Booking is already APPROVED", exception.getMessage());
     }
 
+    @Test
+    void shouldNotApproveBookingApprovedUnderItemLock() {
+        when(userRepository.findById(owner.getId()))
+                .thenReturn(Optional.of(owner));
+        when(bookingRepository.findById(booking.getId()))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.findStatusById(booking.getId()))
+                .thenReturn(Optional.of(BookingStatus.APPROVED));
+
+        final BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> service.changeStatus(owner.getId(), booking.getId(), true));
+
+        Assertions.assertEquals("Booking is already APPROVED", exception.getMessage());
+        verify(bookingRepository, never())
+                .save(any(Booking.class));
+        verify(bookingCounterService, never())
+                .recordStatusChange(any(), any());
+    }
+
+    @Test
+    void shouldRejectApprovedBookingAndFreeItsDates() {
+        booking.setStatus(BookingStatus.APPROVED);
+
+        when(userRepository.findById(owner.getId()))
+                .thenReturn(Optional.of(owner));
+        when(bookingRepository.findById(booking.getId()))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.findStatusById(booking.getId()))
+                .thenReturn(Optional.of(BookingStatus.APPROVED));
+
+        BookingDTO updatedBooking = service.changeStatus(owner.getId(), booking.getId(), false);
+
+        Assertions.assertEquals(BookingStatus.REJECTED, updatedBooking.getStatus());
+        verify(bookingConflictIndex, times(1))
+                .remove(booking);
+        verify(bookingCounterService, times(1))
+                .recordStatusChange(booking, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void shouldApproveRejectedBookingAfterAvailabilityCheck() {
+        booking.setStatus(BookingStatus.REJECTED);
+
+        when(userRepository.findById(owner.getId()))
+                .thenReturn(Optional.of(owner));
+        when(bookingRepository.findById(booking.getId()))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.findStatusById(booking.getId()))
+                .thenReturn(Optional.of(BookingStatus.REJECTED));
+
+        BookingDTO updatedBooking = service.changeStatus(owner.getId(), booking.getId(), true);
+
+        Assertions.assertEquals(BookingStatus.APPROVED, updatedBooking.getStatus());
+        verify(bookingConflictIndex, times(1))
+                .checkAvailability(item.getId(), booking.getStart(), booking.getEnd());
+        verify(bookingCounterService, times(1))
+                .recordStatusChange(booking, BookingStatus.REJECTED);
+    }
+
     @Test
     void shouldChangeStatusWithIncorrectUser() {
         when(userRepository.findById(FAKE_ID))
@@ -351,8 +659,8 @@ class BookingServiceTest {
         service.getAllByBookerId(booker.getId(), "CURRENT",
                 new MyPageRequest(0, 10, Sort.unsorted()));
 
-        verify(bookingRepository)
-                .findAllByBookerCurrentState(anyLong(), any(), any(Pageable.class));
+        verify(currentBookingFinder)
+                .findByBooker(anyLong(), any(), any(Pageable.class));
     }
 
     @Test
@@ -437,8 +745,8 @@ class BookingServiceTest {
         service.getAllByOwnerId(owner.getId(), "CURRENT",
                 new MyPageRequest(0, 10, Sort.unsorted()));
 
-        verify(bookingRepository)
-                .findAllByOwnerCurrentState(anyLong(), any(), any(Pageable.class));
+        verify(currentBookingFinder)
+                .findByOwner(anyLong(), any(), any(Pageable.class));
     }
 
     @Test
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LruCacheTest {
+    @Test
+    void shouldEvictLeastRecentlyUsedEntry() {
+        LruCache<Long, String> cache = new LruCache<>(2, Duration.ofMinutes(1));
+
+        cache.put(1L, "first");
+        cache.put(2L, "second");
+        cache.get(1L);
+        cache.put(3L, "third");
+
+        assertEquals("first", cache.get(1L));
+        assertNull(cache.get(2L));
+        assertEquals("third", cache.get(3L));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTtl() {
+        LruCache<Long, String> cache = new LruCache<>(2, Duration.ZERO);
+
+        cache.put(1L, "first");
+
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldCountHitsMissesAndPuts() {
+        LruCache<Long, String> cache = new LruCache<>(2, Duration.ofMinutes(1));
+
+        cache.put(1L, "first");
+        cache.get(1L);
+        cache.get(2L);
+        cache.remove(1L);
+        cache.get(1L);
+
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, cache.missCount());
+        assertEquals(1, cache.putCount());
+    }
+}
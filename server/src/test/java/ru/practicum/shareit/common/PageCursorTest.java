@@ -0,0 +1,49 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+    @Test
+    void shouldEncodeAndDecodeTimestampCursor() {
+        LocalDateTime timestamp = LocalDateTime.of(2022, 10, 1, 12, 30, 15);
+
+        PageCursor cursor = PageCursor.decode(PageCursor.of(timestamp, 42L).encode());
+
+        assertEquals(timestamp, cursor.getTimestamp());
+        assertEquals(42L, cursor.getId());
+    }
+
+    @Test
+    void shouldEncodeAndDecodeIdCursor() {
+        PageCursor cursor = PageCursor.decode(PageCursor.of(7L).encode());
+
+        assertNull(cursor.getTimestamp());
+        assertEquals(7L, cursor.getId());
+        assertThrows(BadRequestException.class, cursor::requireTimestamp);
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidCursor() {
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode(PageCursor.of(1L).encode() + "x"));
+    }
+
+    @Test
+    void shouldSetNextCursorHeaderOnlyForFullPage() {
+        ResponseEntity<List<Long>> fullPage = PageCursor.toResponse(List.of(1L, 2L), 2, PageCursor::of);
+        ResponseEntity<List<Long>> lastPage = PageCursor.toResponse(List.of(3L), 2, PageCursor::of);
+
+        assertEquals(PageCursor.of(2L).encode(), fullPage.getHeaders().getFirst(PageCursor.NEXT_CURSOR_HEADER));
+        assertFalse(lastPage.getHeaders().containsKey(PageCursor.NEXT_CURSOR_HEADER));
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+    private static final long START = 1_000_000L;
+
+    @Test
+    void shouldExpireEntriesWhenDeadlinePasses() {
+        TimingWheel<Long> wheel = new TimingWheel<>(Duration.ofSeconds(1), 8, START);
+
+        wheel.schedule(1L, START + 1_500);
+        wheel.schedule(2L, START + 3_000);
+
+        assertTrue(wheel.advance(START + 1_000).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(START + 2_000));
+        assertTrue(wheel.advance(START + 2_999).isEmpty());
+        assertEquals(List.of(2L), wheel.advance(START + 3_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldKeepEntriesFromLaterRotations() {
+        TimingWheel<Long> wheel = new TimingWheel<>(Duration.ofSeconds(1), 4, START);
+
+        wheel.schedule(1L, START + 2_000);
+        wheel.schedule(2L, START + 6_000);
+
+        assertEquals(List.of(1L), wheel.advance(START + 2_000));
+        assertTrue(wheel.advance(START + 5_000).isEmpty());
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(2L), wheel.advance(START + 6_000));
+    }
+
+    @Test
+    void shouldExpireOverdueEntriesOnNextAdvance() {
+        TimingWheel<Long> wheel = new TimingWheel<>(Duration.ofSeconds(1), 4, START);
+
+        wheel.advance(START + 10_000);
+        wheel.schedule(1L, START);
+
+        assertTrue(wheel.advance(START + 10_500).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(START + 11_000));
+    }
+
+    @Test
+    void shouldCatchUpAfterLongPause() {
+        TimingWheel<Long> wheel = new TimingWheel<>(Duration.ofSeconds(1), 4, START);
+
+        for (long i = 1; i <= 20; i++) {
+            wheel.schedule(i, START + i * 1_000);
+        }
+
+        List<Long> expired = wheel.advance(START + 12_000);
+
+        assertEquals(12, expired.size());
+        assertTrue(expired.containsAll(List.of(1L, 4L, 5L, 12L)));
+        assertEquals(8, wheel.size());
+        assertEquals(8, wheel.advance(START + 100_000).size());
+    }
+}
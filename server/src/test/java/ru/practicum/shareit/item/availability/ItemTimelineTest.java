@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingIntervalDTO;
+import ru.practicum.shareit.item.dto.AvailabilityDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemTimelineTest {
+    private final LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void shouldReturnWholeRangeWithoutBookings() {
+        ItemTimeline timeline = ItemTimeline.of(List.of());
+
+        assertEquals(List.of(new AvailabilityDTO(from, from.plusDays(3))), timeline.freeWindows(from, from.plusDays(3)));
+    }
+
+    @Test
+    void shouldMergeOverlappingAndAdjacentIntervals() {
+        ItemTimeline timeline = ItemTimeline.of(List.of(
+                new BookingIntervalDTO(1L, from.plusDays(1), from.plusDays(3)),
+                new BookingIntervalDTO(2L, from.plusDays(2), from.plusDays(4)),
+                new BookingIntervalDTO(3L, from.plusDays(4), from.plusDays(5)),
+                new BookingIntervalDTO(4L, from.plusDays(7), from.plusDays(8))));
+
+        assertEquals(2, timeline.size());
+        assertEquals(List.of(
+                new AvailabilityDTO(from, from.plusDays(1)),
+                new AvailabilityDTO(from.plusDays(5), from.plusDays(7)),
+                new AvailabilityDTO(from.plusDays(8), from.plusDays(10))), timeline.freeWindows(from, from.plusDays(10)));
+    }
+
+    @Test
+    void shouldClipWindowsToRequestedRange() {
+        ItemTimeline timeline = ItemTimeline.of(List.of(
+                new BookingIntervalDTO(1L, from.minusDays(2), from.plusDays(1)),
+                new BookingIntervalDTO(2L, from.plusDays(2), from.plusDays(6))));
+
+        assertEquals(List.of(new AvailabilityDTO(from.plusDays(1), from.plusDays(2))),
+                timeline.freeWindows(from, from.plusDays(4)));
+    }
+
+    @Test
+    void shouldReturnEmptyListForFullyBookedRange() {
+        ItemTimeline timeline = ItemTimeline.of(List.of(
+                new BookingIntervalDTO(1L, from.minusDays(1), from.plusDays(5))));
+
+        assertTrue(timeline.freeWindows(from, from.plusDays(3)).isEmpty());
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.cache;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDTO;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemDetailsCacheTest {
+    private final ItemDTO details = ItemDTO.builder()
+            .id(1L)
+            .name("Item")
+            .build();
+
+    @Test
+    void shouldReturnPutDetails() {
+        ItemDetailsCache cache = new ItemDetailsCache(true, 10, Duration.ofMinutes(1));
+
+        cache.put(1L, 2L, 3L, details, cache.stamp(1L));
+
+        assertEquals(Optional.of(details), cache.get(1L, 3L));
+        assertTrue(cache.get(1L, 2L).isEmpty());
+    }
+
+    @Test
+    void shouldSkipDetailsLoadedBeforeItemChanged() {
+        ItemDetailsCache cache = new ItemDetailsCache(true, 10, Duration.ofMinutes(1));
+        long stamp = cache.stamp(1L);
+
+        cache.onItemChanged(new ItemChangedEvent(1L));
+        cache.put(1L, 2L, 3L, details, stamp);
+
+        assertTrue(cache.get(1L, 3L).isEmpty());
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled() {
+        ItemDetailsCache cache = new ItemDetailsCache(false, 10, Duration.ofMinutes(1));
+
+        cache.put(1L, 2L, 3L, details, cache.stamp(1L));
+
+        assertTrue(cache.get(1L, 3L).isEmpty());
+    }
+}
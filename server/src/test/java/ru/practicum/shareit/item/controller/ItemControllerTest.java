@@ -88,6 +88,47 @@ class ItemControllerTest {
                 .andExpect(content().json(itemDTOJson));
     }
 
+    @Test
+    void shouldCreateItemsFromJsonArray() throws Exception {
+        List<ItemDTO> itemDTOs = List.of(firstItemDTO, secondItemDTO);
+
+        when(service.addItems(1L, itemDTOs))
+                .thenReturn(itemDTOs);
+
+        mvc.perform(post("/items/batch")
+                        .header(SHARER_USER_ID, 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemDTOs)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].id", containsInAnyOrder(1, 2)));
+    }
+
+    @Test
+    void shouldCreateItemsFromNdjsonStream() throws Exception {
+        List<ItemDTO> itemDTOs = List.of(firstItemDTO, secondItemDTO);
+
+        when(service.addItems(1L, itemDTOs))
+                .thenReturn(itemDTOs);
+
+        mvc.perform(post("/items/batch")
+                        .header(SHARER_USER_ID, 1)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(firstItemDTO) + "\n"
+                                + objectMapper.writeValueAsString(secondItemDTO) + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void shouldCreateItemsFromInvalidNdjsonStream() throws Exception {
+        mvc.perform(post("/items/batch")
+                        .header(SHARER_USER_ID, 1)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\": \"Item\"}\n{broken"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldCreateAndCheckItemWithoutHeader() throws Exception {
         String itemDTOJson = objectMapper.writeValueAsString(firstItemDTO);
@@ -156,6 +197,18 @@ class ItemControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of(secondItemDTO))));
     }
 
+    @Test
+    void shouldSuggestItemNames() throws Exception {
+        when(service.getSuggestions("sec", 5))
+                .thenReturn(List.of("Second Item"));
+
+        mvc.perform(get("/items/suggest")
+                        .queryParam("prefix", "sec")
+                        .queryParam("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"Second Item\"]"));
+    }
+
     @Test
     void shouldReturnEmptyItems() throws Exception {
         mvc.perform(get("/items")
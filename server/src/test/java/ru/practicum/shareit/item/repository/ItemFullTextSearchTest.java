@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemFullTextSearchTest {
+    private static final int ITEMS_COUNT = 50_000;
+    private static final String SEARCH_SQL = "SELECT name FROM items " +
+            "WHERE is_available = TRUE " +
+            "AND search_vector @@ plainto_tsquery('simple', ?) " +
+            "ORDER BY ts_rank(search_vector, plainto_tsquery('simple', ?)) DESC, id " +
+            "LIMIT ? OFFSET ?";
+
+    private static EmbeddedPostgres postgres;
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void beforeAll() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = new SingleConnectionDataSource(postgres.getPostgresDatabase().getConnection(), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"),
+                new ClassPathResource("schema-postgresql-fts.sql")).execute(dataSource);
+
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Owner', 'owner@yandex.ru')");
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) " +
+                "SELECT 'Item ' || n, 'Description ' || n, n % 10 <> 0, 1 " +
+                "FROM generate_series(1, ?) AS n", ITEMS_COUNT);
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) VALUES " +
+                "('Hammer', 'Goes well with a drill', TRUE, 1), " +
+                "('Drill', 'Cordless drill with a spare drill bit', TRUE, 1), " +
+                "('Drill press', 'Broken drill', FALSE, 1), " +
+                "('Impact driver', 'Drill and driver', TRUE, 1), " +
+                "('Old drill', 'Hammer drill', TRUE, 1)");
+        jdbcTemplate.execute("ANALYZE items");
+    }
+
+    @AfterAll
+    static void afterAll() throws IOException {
+        dataSource.destroy();
+        postgres.close();
+    }
+
+    @Test
+    void shouldUseSearchVectorIndex() {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + SEARCH_SQL, String.class,
+                "drill", "drill", 10, 0));
+
+        assertTrue(plan.contains("items_search_vector_idx"), plan);
+    }
+
+    @Test
+    void shouldMatchAvailableItemsByAnyWordCaseInsensitively() {
+        assertEquals(List.of("Hammer", "Old drill"), search("HAMMER", 10, 0));
+        assertEquals(List.of(), search("press", 10, 0));
+    }
+
+    @Test
+    void shouldOrderByRankThenById() {
+        assertEquals(List.of("Drill", "Old drill", "Hammer", "Impact driver"), search("drill", 10, 0));
+    }
+
+    @Test
+    void shouldPageRankedResults() {
+        assertEquals(List.of("Drill", "Old drill"), search("drill", 2, 0));
+        assertEquals(List.of("Hammer", "Impact driver"), search("drill", 2, 2));
+        assertEquals(List.of(), search("drill", 2, 4));
+    }
+
+    private List<String> search(String text, int limit, int offset) {
+        return jdbcTemplate.queryForList(SEARCH_SQL, String.class, text, text, limit, offset);
+    }
+}
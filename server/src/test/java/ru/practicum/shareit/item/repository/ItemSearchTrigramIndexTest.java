@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemSearchTrigramIndexTest {
+    private static final int ITEMS_COUNT = 50_000;
+    private static final String SEARCH_SQL = "SELECT id FROM items " +
+            "WHERE is_available = TRUE " +
+            "AND (lower(name) LIKE ? OR lower(description) LIKE ?)";
+
+    private static EmbeddedPostgres postgres;
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void beforeAll() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = new SingleConnectionDataSource(postgres.getPostgresDatabase().getConnection(), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"),
+                new ClassPathResource("schema-postgresql-trgm.sql")).execute(dataSource);
+
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Owner', 'owner@yandex.ru')");
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) " +
+                "SELECT 'Item ' || n, 'Description ' || n, n % 10 <> 0, 1 " +
+                "FROM generate_series(1, ?) AS n", ITEMS_COUNT);
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) VALUES " +
+                "('Cordless Drill', 'Compact drill', TRUE, 1), " +
+                "('Hammer', 'Goes well with a DRILL', TRUE, 1), " +
+                "('Drill press', 'Broken', FALSE, 1)");
+        jdbcTemplate.execute("ANALYZE items");
+    }
+
+    @AfterAll
+    static void afterAll() throws IOException {
+        dataSource.destroy();
+        postgres.close();
+    }
+
+    @Test
+    void shouldUseTrigramIndexForSubstringSearch() {
+        String plan = explain("%drill%");
+
+        assertFalse(plan.contains("Seq Scan on items"), plan);
+        assertTrue(plan.contains("items_name_trgm_idx"), plan);
+        assertTrue(plan.contains("items_description_trgm_idx"), plan);
+    }
+
+    @Test
+    void shouldReturnSameResultsAsSequentialScan() {
+        List<Long> indexed = search("%drill%");
+
+        jdbcTemplate.execute("SET enable_bitmapscan = off");
+        jdbcTemplate.execute("SET enable_indexscan = off");
+
+        try {
+            assertTrue(explain("%drill%").contains("Seq Scan on items"));
+            assertEquals(search("%drill%"), indexed);
+        } finally {
+            jdbcTemplate.execute("RESET enable_bitmapscan");
+            jdbcTemplate.execute("RESET enable_indexscan");
+        }
+
+        assertEquals(2, indexed.size());
+    }
+
+    private List<Long> search(String pattern) {
+        List<Long> ids = jdbcTemplate.queryForList(SEARCH_SQL, Long.class, pattern, pattern);
+        ids.sort(Comparator.naturalOrder());
+
+        return ids;
+    }
+
+    private String explain(String pattern) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + SEARCH_SQL, String.class, pattern, pattern));
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+    private InvertedIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new InvertedIndex();
+        index.put(1L, "Дрель", "Простая дрель", true);
+        index.put(2L, "Отвертка", "Аккумуляторная отвертка", true);
+        index.put(3L, "Дрель ударная", "Мощная дрель с аккумулятором", true);
+        index.put(4L, "Клей Момент", "Тюбик суперклея", false);
+    }
+
+    @Test
+    void shouldFindItemsByWord() {
+        assertEquals(List.of(1L, 3L), index.search("дрель", 0, 10));
+    }
+
+    @Test
+    void shouldFindItemsByWordPrefixIgnoringCase() {
+        assertEquals(List.of(2L, 3L), index.search("АККУМ", 0, 10));
+    }
+
+    @Test
+    void shouldRequireAllWords() {
+        assertEquals(List.of(3L), index.search("дрель аккум", 0, 10));
+    }
+
+    @Test
+    void shouldSkipUnavailableItems() {
+        assertTrue(index.search("клей", 0, 10).isEmpty());
+    }
+
+    @Test
+    void shouldApplyOffsetAndLimit() {
+        assertEquals(List.of(3L), index.search("дрель", 1, 10));
+        assertEquals(List.of(1L), index.search("дрель", 0, 1));
+    }
+
+    @Test
+    void shouldReindexUpdatedItem() {
+        index.put(1L, "Молоток", "Простой молоток", true);
+
+        assertEquals(List.of(3L), index.search("дрель", 0, 10));
+        assertEquals(List.of(1L), index.search("молоток", 0, 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void shouldRemoveItem() {
+        index.remove(3L);
+
+        assertEquals(List.of(1L), index.search("дрель", 0, 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void shouldReturnEmptyListForBlankText() {
+        assertTrue(index.search(" ", 0, 10).isEmpty());
+    }
+}
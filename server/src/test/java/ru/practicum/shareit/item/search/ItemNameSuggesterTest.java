@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemNameSuggesterTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemNameSuggester suggester;
+
+    @Test
+    void shouldReplaceLocalIndexWithDatabaseStateOnRebuild() {
+        suggester.index(Item.builder().id(1L).name("Дрель").available(true).build());
+        when(itemRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(Item.builder().id(2L).name("Дрезина").available(true).build())));
+
+        suggester.rebuild();
+
+        assertEquals(List.of("Дрезина"), suggester.suggest("дре", 10));
+    }
+}
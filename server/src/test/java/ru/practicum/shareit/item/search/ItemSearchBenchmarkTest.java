@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.common.MyPageRequest;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@DirtiesContext
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+class ItemSearchBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(ItemSearchBenchmarkTest.class);
+    private static final int ITEM_COUNT = Integer.getInteger("shareit.benchmark.items", 1_000_000);
+    private static final int BATCH_SIZE = 10_000;
+    private static final int ITERATIONS = 20;
+    private static final String[] WORDS = {"дрель", "отвертка", "молоток", "пила", "лестница", "палатка", "велосипед",
+            "аккумулятор", "набор", "ключ", "рюкзак", "фонарь", "тележка", "стремянка", "уровень", "рулетка"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void compareSqlAndIndexSearch() {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            batch.add(new Object[]{
+                    WORDS[i % WORDS.length] + " " + i,
+                    WORDS[(i * 7 + 3) % WORDS.length] + " " + WORDS[(i * 13 + 5) % WORDS.length],
+                    i % 10 != 0});
+
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("INSERT INTO items (name, description, is_available) VALUES (?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO items (name, description, is_available) VALUES (?, ?, ?)", batch);
+        }
+
+        InvertedIndex index = new InvertedIndex();
+        long buildStart = System.nanoTime();
+
+        jdbcTemplate.query("SELECT id, name, description, is_available FROM items", resultSet -> {
+            index.put(resultSet.getLong("id"), resultSet.getString("name"),
+                    resultSet.getString("description"), resultSet.getBoolean("is_available"));
+        });
+
+        log.info("Index build over {} items: {} ms", index.size(), (System.nanoTime() - buildStart) / 1_000_000);
+
+        MyPageRequest deepPage = new MyPageRequest(1000, 10, Sort.unsorted());
+        long sqlTime = 0;
+        long indexTime = 0;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            String word = WORDS[i % WORDS.length];
+
+            long start = System.nanoTime();
+            int sqlSize = itemRepository.search(word, deepPage).size();
+            sqlTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int indexSize = index.search(word, deepPage.getOffset(), deepPage.getPageSize()).size();
+            indexTime += System.nanoTime() - start;
+
+            assertEquals(sqlSize, indexSize);
+        }
+
+        log.info("SQL search: {} us/query, index search: {} us/query",
+                sqlTime / ITERATIONS / 1000, indexTime / ITERATIONS / 1000);
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NameSuggestionIndexTest {
+    private NameSuggestionIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new NameSuggestionIndex();
+        index.put(1L, "Дрель", true);
+        index.put(2L, "Дрель ударная", true);
+        index.put(3L, "Аккумуляторная дрель", true);
+        index.put(4L, "Дрезина", false);
+        index.put(5L, "Дрель", true);
+    }
+
+    @Test
+    void shouldSuggestDistinctNamesByPrefixIgnoringCase() {
+        assertEquals(List.of("Аккумуляторная дрель", "Дрель", "Дрель ударная"), index.suggest("ДРЕ", 10));
+    }
+
+    @Test
+    void shouldSuggestNamesByWordPrefix() {
+        assertEquals(List.of("Дрель ударная"), index.suggest("удар", 10));
+    }
+
+    @Test
+    void shouldLimitSuggestions() {
+        assertEquals(List.of("Аккумуляторная дрель", "Дрель"), index.suggest("дрель", 2));
+    }
+
+    @Test
+    void shouldSkipUnavailableItems() {
+        assertTrue(index.suggest("дрез", 10).isEmpty());
+    }
+
+    @Test
+    void shouldUpdateAndRemoveItems() {
+        index.put(2L, "Перфоратор", true);
+        index.remove(3L);
+
+        assertEquals(List.of("Дрель"), index.suggest("дре", 10));
+        assertEquals(List.of("Перфоратор"), index.suggest("перф", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void shouldKeepNameWhileAnotherItemHasIt() {
+        index.remove(1L);
+
+        assertEquals(List.of("Аккумуляторная дрель", "Дрель", "Дрель ударная"), index.suggest("дрель", 10));
+    }
+
+    @Test
+    void shouldIgnoreBlankPrefix() {
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+}
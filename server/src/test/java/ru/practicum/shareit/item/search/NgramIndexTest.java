@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NgramIndexTest {
+    private NgramIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new NgramIndex();
+        index.put(1L, "Drill", "Simple drill", true);
+        index.put(2L, "Screwdriver", "Cordless screwdriver", true);
+        index.put(3L, "Hammer drill", "Powerful cordless drill", true);
+        index.put(4L, "Glue", "Super glue tube", false);
+        index.put(5L, "Drel", "Misnamed drill", true);
+    }
+
+    @Test
+    void shouldFindItemsByMisspelledWord() {
+        assertEquals(List.of(5L, 1L, 3L), index.search("drel", 0, 10));
+    }
+
+    @Test
+    void shouldFindItemsByTransposedLetters() {
+        assertEquals(List.of(2L), index.search("scerwdriver", 0, 10));
+    }
+
+    @Test
+    void shouldFindItemsByWordPrefix() {
+        assertEquals(List.of(2L, 3L), index.search("CORDL", 0, 10));
+    }
+
+    @Test
+    void shouldRankCloserMatchesFirstAndRequireAllWords() {
+        assertEquals(List.of(3L), index.search("cordles dril", 0, 10));
+    }
+
+    @Test
+    void shouldNotMatchWordsTooFarAway() {
+        assertTrue(index.search("hummock", 0, 10).isEmpty());
+        assertTrue(index.search("dx", 0, 10).isEmpty());
+    }
+
+    @Test
+    void shouldSkipUnavailableItems() {
+        assertTrue(index.search("glu", 0, 10).isEmpty());
+    }
+
+    @Test
+    void shouldApplyOffsetAndLimit() {
+        assertEquals(List.of(1L), index.search("drel", 1, 1));
+    }
+
+    @Test
+    void shouldUpdateAndRemoveItems() {
+        index.put(1L, "Saw", "Hand saw", true);
+        index.remove(5L);
+
+        assertEquals(List.of(3L), index.search("drill", 0, 10));
+        assertEquals(List.of(1L), index.search("sav", 0, 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void shouldComputeBoundedDistance() {
+        assertEquals(0, NgramIndex.distance("drill", "drill", 2));
+        assertEquals(1, NgramIndex.distance("dirll", "drill", 2));
+        assertEquals(2, NgramIndex.distance("drel", "drill", 2));
+        assertEquals(3, NgramIndex.distance("glue", "drill", 2));
+    }
+}
@@ -1,23 +1,42 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.MyPageRequest;
 import ru.practicum.shareit.item.dto.ItemDTO;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.dto.UserDTO;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
-@SpringBootTest
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @AutoConfigureTestDatabase
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ItemServiceIntegrationTest {
     private final ItemService itemService;
     private final UserService userService;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Test
     void shouldCreateItemById() {
@@ -37,4 +56,88 @@ class ItemServiceIntegrationTest {
 
         Assertions.assertEquals(createdItemDTO.getOwner().getId(), createdUserDTO.getId());
     }
+
+    @Test
+    void shouldCreateItemsInJdbcBatches() {
+        UserDTO owner = userService.addUser(UserDTO.builder()
+                .name("Owner")
+                .email("owner@yandex.ru")
+                .build());
+
+        List<ItemDTO> itemDTOs = new ArrayList<>();
+
+        for (int i = 0; i < 120; i++) {
+            itemDTOs.add(ItemDTO.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .build());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<ItemDTO> createdItems = itemService.addItems(owner.getId(), itemDTOs);
+
+        Assertions.assertEquals(120, createdItems.size());
+        Assertions.assertEquals(120, statistics.getEntityInsertCount());
+        Assertions.assertTrue(statistics.getPrepareStatementCount() < 20);
+        Assertions.assertEquals(120, itemRepository.findAllByOwnerIdOrderByIdAsc(owner.getId(),
+                new MyPageRequest(0, 200, Sort.unsorted())).size());
+    }
+
+    @Test
+    void shouldResolveItemBookingsWithConstantQueryCount() {
+        UserDTO owner = userService.addUser(UserDTO.builder()
+                .name("Owner")
+                .email("owner@yandex.ru")
+                .build());
+
+        User booker = userRepository.findById(userService.addUser(UserDTO.builder()
+                        .name("Booker")
+                        .email("booker@yandex.ru")
+                        .build()).getId())
+                .orElseThrow();
+
+        for (int i = 0; i < 5; i++) {
+            ItemDTO itemDTO = itemService.addItem(owner.getId(), ItemDTO.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .build());
+
+            Item item = itemRepository.findById(itemDTO.getId()).orElseThrow();
+
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(LocalDateTime.now().minusDays(2))
+                    .end(LocalDateTime.now().minusDays(1))
+                    .build());
+
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(LocalDateTime.now().plusDays(1))
+                    .end(LocalDateTime.now().plusDays(2))
+                    .build());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        itemService.getItemsByUserId(owner.getId(), new MyPageRequest(0, 1, Sort.unsorted()));
+        long singleItemStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<ItemDTO> items = itemService.getItemsByUserId(owner.getId(), new MyPageRequest(0, 5, Sort.unsorted()));
+
+        Assertions.assertEquals(singleItemStatements, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(5, items.size());
+
+        for (ItemDTO itemDTO : items) {
+            Assertions.assertNotNull(itemDTO.getLastBooking());
+            Assertions.assertNotNull(itemDTO.getNextBooking());
+        }
+    }
 }
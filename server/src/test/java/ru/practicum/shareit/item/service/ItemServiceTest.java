@@ -9,8 +9,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.counter.BookingCounterService;
+import ru.practicum.shareit.booking.dto.BookingIntervalDTO;
+import ru.practicum.shareit.booking.dto.ItemBookingDTO;
 import ru.practicum.shareit.booking.dto.SimplifiedBookingDTO;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
@@ -18,6 +23,9 @@ import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.common.MyPageRequest;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.cache.ItemChangedEvent;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.dto.AvailabilityDTO;
 import ru.practicum.shareit.item.dto.CommentDTO;
 import ru.practicum.shareit.item.dto.ItemDTO;
 import ru.practicum.shareit.item.mapper.CommentMapper;
@@ -26,21 +34,29 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -55,6 +71,9 @@ class ItemServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
     @Mock
     private RequestRepository requestRepository;
 
@@ -64,6 +83,24 @@ class ItemServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private ItemNameSuggester itemNameSuggester;
+
+    @Mock
+    private ItemDetailsCache itemDetailsCache;
+
+    @Mock
+    private BookingCounterService bookingCounterService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ItemService service;
 
@@ -138,6 +175,8 @@ class ItemServiceTest {
                 .findById(user.getId());
         verify(itemRepository, times(1))
                 .save(any(Item.class));
+        verify(itemSearchEngine, times(1))
+                .index(item);
     }
 
     @Test
@@ -201,6 +240,69 @@ class ItemServiceTest {
         Assertions.assertEquals("Request not found", exception.getMessage());
     }
 
+    @Test
+    void shouldCreateItemsInBatch() {
+        item.setRequest(request);
+        Item secondItem = Item.builder()
+                .id(2L)
+                .name("Second Item")
+                .description("Second Description")
+                .available(false)
+                .build();
+
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+        when(requestRepository.findAllById(Set.of(request.getId())))
+                .thenReturn(List.of(request));
+        when(itemRepository.saveAll(anyList()))
+                .thenReturn(List.of(item, secondItem));
+
+        List<ItemDTO> itemDTOs = service.addItems(user.getId(),
+                List.of(itemMapper.toDTO(item), itemMapper.toDTO(secondItem)));
+
+        assertEquals(2, itemDTOs.size());
+        assertEquals(request.getId(), itemDTOs.get(0).getRequestId());
+        assertEquals(2L, itemDTOs.get(1).getId());
+        verify(userRepository, times(1)).findById(user.getId());
+        verify(requestRepository, times(1)).findAllById(Set.of(request.getId()));
+        verify(itemSearchEngine, times(2)).index(any(Item.class));
+    }
+
+    @Test
+    void shouldCreateItemsInBatchWithNotFoundRequest() {
+        item.setRequest(request);
+
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+        when(requestRepository.findAllById(Set.of(request.getId())))
+                .thenReturn(List.of());
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> service.addItems(user.getId(), List.of(itemMapper.toDTO(item))));
+
+        assertEquals("Request not found", exception.getMessage());
+        verify(itemRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldCreateItemsInBatchWithNullDescription() {
+        item.setDescription(null);
+
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+
+        final BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> service.addItems(user.getId(), List.of(itemMapper.toDTO(item))));
+
+        assertEquals("Description cannot be null", exception.getMessage());
+        verify(itemRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldCreateEmptyItemsBatch() {
+        assertThrows(BadRequestException.class, () -> service.addItems(user.getId(), List.of()));
+    }
+
     @Test
     void shouldCreateCommentWithEmptyBookings() {
         CommentDTO commentDTO = commentMapper.toDTO(comment);
@@ -299,39 +401,22 @@ class ItemServiceTest {
 
     @Test
     void shouldReturnItemByIdWithOwner() {
-        Booking booking1 = Booking.builder()
-                .id(1L)
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
-                .item(item)
-                .booker(user)
-                .build();
-
-        Booking booking2 = Booking.builder()
-                .id(2L)
-                .start(LocalDateTime.now().plusDays(5))
-                .end(LocalDateTime.now().plusDays(8))
-                .item(item)
-                .booker(user)
-                .build();
+        ItemBookingDTO lastBooking = new ItemBookingDTO(1L, item.getId(), user.getId(),
+                LocalDateTime.now().minusDays(3));
+        ItemBookingDTO nextBooking = new ItemBookingDTO(2L, item.getId(), user.getId(),
+                LocalDateTime.now().plusDays(5));
 
         List<CommentDTO> comments = commentMapper.toDTOList(List.of(comment));
 
-        SimplifiedBookingDTO simplifiedBookingDTO1 = bookingMapper.toSimpleDTO(booking1);
-        SimplifiedBookingDTO simplifiedBookingDTO2 = bookingMapper.toSimpleDTO(booking2);
+        SimplifiedBookingDTO simplifiedBookingDTO1 = bookingMapper.toSimpleDTO(lastBooking);
+        SimplifiedBookingDTO simplifiedBookingDTO2 = bookingMapper.toSimpleDTO(nextBooking);
 
         item.setOwner(user);
 
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findLastBooking(anyLong(), any()))
-                .thenReturn(Optional.of(booking1));
-        when(bookingRepository.findNextBooking(anyLong(), any()))
-                .thenReturn(Optional.of(booking2));
-        when(bookingMapper.toSimpleDTO(booking1))
-                .thenReturn(simplifiedBookingDTO1);
-        when(bookingMapper.toSimpleDTO(booking2))
-                .thenReturn(simplifiedBookingDTO2);
+        when(bookingRepository.findLastAndNextBookings(anyCollection(), any()))
+                .thenReturn(List.of(lastBooking, nextBooking));
         when(commentRepository.findAllByItemId(item.getId()))
                 .thenReturn(List.of(comment));
 
@@ -347,37 +432,17 @@ class ItemServiceTest {
 
     @Test
     void shouldReturnItemByIdWithOwnerAndCheckRepositoryMethodCalls() {
-        Booking booking1 = Booking.builder()
-                .id(1L)
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
-                .item(item)
-                .booker(user)
-                .build();
-
-        Booking booking2 = Booking.builder()
-                .id(2L)
-                .start(LocalDateTime.now().plusDays(5))
-                .end(LocalDateTime.now().plusDays(8))
-                .item(item)
-                .booker(user)
-                .build();
-
-        SimplifiedBookingDTO simplifiedBookingDTO1 = bookingMapper.toSimpleDTO(booking1);
-        SimplifiedBookingDTO simplifiedBookingDTO2 = bookingMapper.toSimpleDTO(booking2);
+        ItemBookingDTO lastBooking = new ItemBookingDTO(1L, item.getId(), user.getId(),
+                LocalDateTime.now().minusDays(3));
+        ItemBookingDTO nextBooking = new ItemBookingDTO(2L, item.getId(), user.getId(),
+                LocalDateTime.now().plusDays(5));
 
         item.setOwner(user);
 
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findLastBooking(anyLong(), any()))
-                .thenReturn(Optional.of(booking1));
-        when(bookingRepository.findNextBooking(anyLong(), any()))
-                .thenReturn(Optional.of(booking2));
-        when(bookingMapper.toSimpleDTO(booking1))
-                .thenReturn(simplifiedBookingDTO1);
-        when(bookingMapper.toSimpleDTO(booking2))
-                .thenReturn(simplifiedBookingDTO2);
+        when(bookingRepository.findLastAndNextBookings(anyCollection(), any()))
+                .thenReturn(List.of(lastBooking, nextBooking));
         when(commentRepository.findAllByItemId(item.getId()))
                 .thenReturn(List.of(comment));
 
@@ -386,9 +451,7 @@ class ItemServiceTest {
         verify(itemRepository, times(1))
                 .findById(item.getId());
         verify(bookingRepository, times(1))
-                .findLastBooking(anyLong(), any());
-        verify(bookingRepository, times(1))
-                .findNextBooking(anyLong(), any());
+                .findLastAndNextBookings(anyCollection(), any());
         verify(commentRepository, times(1))
                 .findAllByItemId(item.getId());
     }
@@ -431,6 +494,37 @@ class ItemServiceTest {
                 .findAllByItemId(item.getId());
     }
 
+    @Test
+    void shouldReturnItemByIdFromCache() {
+        ItemDTO cachedItem = itemMapper.toDTO(item);
+
+        when(itemDetailsCache.get(item.getId(), user.getId()))
+                .thenReturn(Optional.of(cachedItem));
+
+        ItemDTO itemDTO = service.getById(user.getId(), item.getId());
+
+        Assertions.assertSame(cachedItem, itemDTO);
+        verify(itemRepository, never())
+                .findById(anyLong());
+        verify(commentRepository, never())
+                .findAllByItemId(anyLong());
+    }
+
+    @Test
+    void shouldReturnItemByIdAndPutItIntoCache() {
+        item.setOwner(user);
+
+        when(itemRepository.findById(item.getId()))
+                .thenReturn(Optional.of(item));
+        when(commentRepository.findAllByItemId(item.getId()))
+                .thenReturn(List.of(comment));
+
+        ItemDTO itemDTO = service.getById(FAKE_ID, item.getId());
+
+        verify(itemDetailsCache, times(1))
+                .put(item.getId(), user.getId(), FAKE_ID, itemDTO, 0L);
+    }
+
     @Test
     void shouldReturnItemByFakeId() {
         when(itemRepository.findById(FAKE_ID))
@@ -444,37 +538,20 @@ class ItemServiceTest {
 
     @Test
     void shouldReturnItemsByUserId() {
-        Booking booking1 = Booking.builder()
-                .id(1L)
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
-                .item(item)
-                .booker(user)
-                .build();
-
-        Booking booking2 = Booking.builder()
-                .id(2L)
-                .start(LocalDateTime.now().plusDays(5))
-                .end(LocalDateTime.now().plusDays(8))
-                .item(item)
-                .booker(user)
-                .build();
+        ItemBookingDTO lastBooking = new ItemBookingDTO(1L, item.getId(), user.getId(),
+                LocalDateTime.now().minusDays(3));
+        ItemBookingDTO nextBooking = new ItemBookingDTO(2L, item.getId(), user.getId(),
+                LocalDateTime.now().plusDays(5));
 
         item.setOwner(user);
 
-        SimplifiedBookingDTO simplifiedBookingDTO1 = bookingMapper.toSimpleDTO(booking1);
-        SimplifiedBookingDTO simplifiedBookingDTO2 = bookingMapper.toSimpleDTO(booking2);
+        SimplifiedBookingDTO simplifiedBookingDTO1 = bookingMapper.toSimpleDTO(lastBooking);
+        SimplifiedBookingDTO simplifiedBookingDTO2 = bookingMapper.toSimpleDTO(nextBooking);
 
         when(itemRepository.findAllByOwnerIdOrderByIdAsc(anyLong(), any(PageRequest.class)))
                 .thenReturn(List.of(item));
-        when(bookingRepository.findLastBooking(anyLong(), any()))
-                .thenReturn(Optional.of(booking1));
-        when(bookingRepository.findNextBooking(anyLong(), any()))
-                .thenReturn(Optional.of(booking2));
-        when(bookingMapper.toSimpleDTO(booking1))
-                .thenReturn(simplifiedBookingDTO1);
-        when(bookingMapper.toSimpleDTO(booking2))
-                .thenReturn(simplifiedBookingDTO2);
+        when(bookingRepository.findLastAndNextBookings(anyCollection(), any()))
+                .thenReturn(List.of(lastBooking, nextBooking));
 
         List<ItemDTO> items = service.getItemsByUserId(user.getId(),
                 new MyPageRequest(0, 10, Sort.unsorted()));
@@ -487,37 +564,17 @@ class ItemServiceTest {
 
     @Test
     void shouldReturnItemsByUserIdAndCheckRepositoryMethodCalls() {
-        Booking booking1 = Booking.builder()
-                .id(1L)
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
-                .item(item)
-                .booker(user)
-                .build();
-
-        Booking booking2 = Booking.builder()
-                .id(2L)
-                .start(LocalDateTime.now().plusDays(5))
-                .end(LocalDateTime.now().plusDays(8))
-                .item(item)
-                .booker(user)
-                .build();
+        ItemBookingDTO lastBooking = new ItemBookingDTO(1L, item.getId(), user.getId(),
+                LocalDateTime.now().minusDays(3));
+        ItemBookingDTO nextBooking = new ItemBookingDTO(2L, item.getId(), user.getId(),
+                LocalDateTime.now().plusDays(5));
 
         item.setOwner(user);
 
-        SimplifiedBookingDTO simplifiedBookingDTO1 = bookingMapper.toSimpleDTO(booking1);
-        SimplifiedBookingDTO simplifiedBookingDTO2 = bookingMapper.toSimpleDTO(booking2);
-
         when(itemRepository.findAllByOwnerIdOrderByIdAsc(anyLong(), any(PageRequest.class)))
                 .thenReturn(List.of(item));
-        when(bookingRepository.findLastBooking(anyLong(), any()))
-                .thenReturn(Optional.of(booking1));
-        when(bookingRepository.findNextBooking(anyLong(), any()))
-                .thenReturn(Optional.of(booking2));
-        when(bookingMapper.toSimpleDTO(booking1))
-                .thenReturn(simplifiedBookingDTO1);
-        when(bookingMapper.toSimpleDTO(booking2))
-                .thenReturn(simplifiedBookingDTO2);
+        when(bookingRepository.findLastAndNextBookings(anyCollection(), any()))
+                .thenReturn(List.of(lastBooking, nextBooking));
 
         service.getItemsByUserId(user.getId(),
                 new MyPageRequest(0, 10, Sort.unsorted()));
@@ -525,9 +582,7 @@ class ItemServiceTest {
         verify(itemRepository, times(1))
                 .findAllByOwnerIdOrderByIdAsc(anyLong(), any(PageRequest.class));
         verify(bookingRepository, times(1))
-                .findLastBooking(anyLong(), any());
-        verify(bookingRepository, times(1))
-                .findNextBooking(anyLong(), any());
+                .findLastAndNextBookings(anyCollection(), any());
     }
 
     @Test
@@ -546,7 +601,7 @@ class ItemServiceTest {
 
     @Test
     void shouldReturnItemsByText() {
-        when(itemRepository.search(anyString(), any(PageRequest.class)))
+        when(itemSearchEngine.search(anyString(), any(PageRequest.class)))
                 .thenReturn(List.of(item));
 
         List<ItemDTO> items = service.getItemsByText("Test Item",
@@ -558,14 +613,14 @@ class ItemServiceTest {
     }
 
     @Test
-    void shouldReturnItemsByTextAndCheckRepositoryMethodCalls() {
-        when(itemRepository.search(anyString(), any(PageRequest.class)))
+    void shouldReturnItemsByTextAndCheckSearchEngineCalls() {
+        when(itemSearchEngine.search(anyString(), any(PageRequest.class)))
                 .thenReturn(List.of(item));
 
         service.getItemsByText("Test Item",
                 new MyPageRequest(0, 10, Sort.unsorted()));
 
-        verify(itemRepository, times(1))
+        verify(itemSearchEngine, times(1))
                 .search(anyString(), any(PageRequest.class));
     }
 
@@ -596,6 +651,8 @@ class ItemServiceTest {
 
         Assertions.assertEquals(item.getId(), updatedItem.getId());
         Assertions.assertFalse(updatedItem.getAvailable());
+        verify(eventPublisher, times(1))
+                .publishEvent(any(ItemChangedEvent.class));
     }
 
     @Test
@@ -621,6 +678,8 @@ class ItemServiceTest {
                 .findById(item.getId());
         verify(itemRepository, times(1))
                 .save(any((Item.class)));
+        verify(itemSearchEngine, times(1))
+                .index(any(Item.class));
     }
 
     @Test
@@ -690,8 +749,8 @@ class ItemServiceTest {
 
     @Test
     void shouldRemoveItemByIdWithIncorrectUserId() {
-        when(userRepository.findById(FAKE_ID))
-                .thenThrow(new NotFoundException("User not found"));
+        doThrow(new NotFoundException("User not found"))
+                .when(userExistenceCache).requireExists(FAKE_ID);
 
         final NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> service.removeItemById(FAKE_ID, item.getId()));
@@ -701,12 +760,52 @@ class ItemServiceTest {
 
     @Test
     void shouldRemoveItemByIdAndCheckRepositoryMethodCalls() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
-
         service.removeItemById(user.getId(), item.getId());
 
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userExistenceCache, times(1)).requireExists(user.getId());
         verify(itemRepository, times(1)).deleteById(item.getId());
+        verify(itemSearchEngine, times(1)).remove(item.getId());
+        verify(itemNameSuggester, times(1)).remove(item.getId());
+        verify(bookingCounterService, times(1)).recount(Set.of());
+    }
+
+    @Test
+    void shouldReturnItemAvailability() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+
+        when(itemRepository.findById(item.getId()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.findActiveIntervalsByItemIdBetween(anyLong(), anyCollection(), any(), any()))
+                .thenReturn(List.of(new BookingIntervalDTO(1L, from.minusDays(1), from.plusDays(2)),
+                        new BookingIntervalDTO(2L, from.plusDays(4), from.plusDays(5))));
+
+        List<AvailabilityDTO> windows = service.getAvailability(user.getId(), item.getId(), from, to);
+
+        assertEquals(List.of(new AvailabilityDTO(from.plusDays(2), from.plusDays(4)),
+                new AvailabilityDTO(from.plusDays(5), to)), windows);
+    }
+
+    @Test
+    void shouldReturnItemAvailabilityWithIncorrectRange() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        final BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> service.getAvailability(user.getId(), item.getId(), from, from.minusDays(1)));
+
+        Assertions.assertEquals("Incorrect availability range", exception.getMessage());
+    }
+
+    @Test
+    void shouldReturnItemAvailabilityWithIncorrectUserId() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        doThrow(new NotFoundException("User not found"))
+                .when(userExistenceCache).requireExists(FAKE_ID);
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> service.getAvailability(FAKE_ID, item.getId(), from, from.plusDays(1)));
+
+        Assertions.assertEquals("User not found", exception.getMessage());
     }
-}
\ No newline at end of file
+}
@@ -11,7 +11,9 @@ import ru.practicum.shareit.common.MyPageRequest;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -50,4 +52,25 @@ class RequestRepositoryTest {
 
         assertEquals(requestList.size(), 1);
     }
+
+    @Test
+    void findAllAfterTest() {
+        LocalDateTime created = LocalDateTime.of(2022, 10, 1, 12, 0);
+
+        entityManager.persist(user);
+
+        Request newest = entityManager.persist(Request.builder().owner(user).created(created.plusDays(1)).build());
+        Request sameTime = entityManager.persist(Request.builder().owner(user).created(created).build());
+        Request cursor = entityManager.persist(Request.builder().owner(user).created(created).build());
+        Request oldest = entityManager.persist(Request.builder().owner(user).created(created.minusDays(1)).build());
+
+        List<Request> requestList = requestRepository
+                .findAllAfter(99999, cursor.getCreated(), cursor.getId(), pageable);
+
+        assertEquals(List.of(sameTime.getId(), oldest.getId()), requestList.stream()
+                .map(Request::getId)
+                .collect(Collectors.toList()));
+        assertEquals(4, requestRepository.findAllByPageable(99999, pageable).size());
+        assertEquals(newest.getId(), requestRepository.findAllByPageable(99999, pageable).get(0).getId());
+    }
 }
\ No newline at end of file
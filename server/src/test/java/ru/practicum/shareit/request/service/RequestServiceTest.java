@@ -19,6 +19,7 @@ import ru.practicum.shareit.request.dto.RequestDTO;
 import ru.practicum.shareit.request.mapper.RequestMapper;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -29,6 +30,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -43,6 +45,9 @@ class RequestServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
     @Mock
     private ItemRepository itemRepository;
 
@@ -121,8 +126,6 @@ class RequestServiceTest {
 
     @Test
     void shouldReturnRequestListByOwnerId() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(requestRepository.findAllByOwnerIdOrderByCreatedDesc(user.getId()))
                 .thenReturn(List.of(request));
         when(itemRepository.findAllByRequestOwnerId(user.getId()))
@@ -135,8 +138,6 @@ class RequestServiceTest {
 
     @Test
     void shouldReturnRequestListAndCheckRepositoryMethodCalls() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(requestRepository.findAllByOwnerIdOrderByCreatedDesc(user.getId()))
                 .thenReturn(List.of(request));
         when(itemRepository.findAllByRequestOwnerId(user.getId()))
@@ -144,8 +145,8 @@ class RequestServiceTest {
 
         service.getRequestListByOwnerId(user.getId());
 
-        verify(userRepository, times(1))
-                .findById(user.getId());
+        verify(userExistenceCache, times(1))
+                .requireExists(user.getId());
         verify(requestRepository, times(1))
                 .findAllByOwnerIdOrderByCreatedDesc(user.getId());
         verify(itemRepository, times(1))
@@ -155,8 +156,8 @@ class RequestServiceTest {
 
     @Test
     void shouldReturnRequestListByIncorrectUserId() {
-        when(userRepository.findById(FAKE_ID))
-                .thenThrow(new NotFoundException("User not found"));
+        doThrow(new NotFoundException("User not found"))
+                .when(userExistenceCache).requireExists(FAKE_ID);
 
         final NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> service.getRequestListByOwnerId(FAKE_ID));
@@ -166,8 +167,6 @@ class RequestServiceTest {
 
     @Test
     void shouldReturnAllRequestList() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(requestRepository.findAllByPageable(anyLong(), any(Pageable.class)))
                 .thenReturn(List.of(request));
         when(itemRepository.findAllByRequestIds(List.of(request.getId())))
@@ -181,8 +180,6 @@ class RequestServiceTest {
 
     @Test
     void shouldReturnAllRequestListAndCheckRepositoryMethodCalls() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(requestRepository.findAllByPageable(anyLong(), any(Pageable.class)))
                 .thenReturn(List.of(request));
         when(itemRepository.findAllByRequestIds(List.of(request.getId())))
@@ -191,8 +188,8 @@ class RequestServiceTest {
         service.getAllRequestList(user.getId(),
                 new MyPageRequest(0, 10, Sort.unsorted()));
 
-        verify(userRepository, times(1))
-                .findById(user.getId());
+        verify(userExistenceCache, times(1))
+                .requireExists(user.getId());
         verify(requestRepository, times(1))
                 .findAllByPageable(anyLong(), any(Pageable.class));
         verify(itemRepository, times(1))
@@ -201,8 +198,8 @@ class RequestServiceTest {
 
     @Test
     void shouldReturnAllRequestListByIncorrectUserId() {
-        when(userRepository.findById(FAKE_ID))
-                .thenThrow(new NotFoundException("User not found"));
+        doThrow(new NotFoundException("User not found"))
+                .when(userExistenceCache).requireExists(FAKE_ID);
 
         final NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> service.getAllRequestList(FAKE_ID,
@@ -213,8 +210,6 @@ class RequestServiceTest {
 
     @Test
     void shouldReturnRequestById() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(requestRepository.findById(request.getId()))
                 .thenReturn(Optional.of(request));
         when(itemRepository.findAllByRequestId(request.getId()))
@@ -227,8 +222,6 @@ class RequestServiceTest {
 
     @Test
     void shouldReturnRequestByIdAndCheckRepositoryMethodCalls() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(requestRepository.findById(request.getId()))
                 .thenReturn(Optional.of(request));
         when(itemRepository.findAllByRequestId(request.getId()))
@@ -236,8 +229,8 @@ class RequestServiceTest {
 
         service.getRequestById(user.getId(), request.getId());
 
-        verify(userRepository, times(1))
-                .findById(user.getId());
+        verify(userExistenceCache, times(1))
+                .requireExists(user.getId());
         verify(requestRepository, times(1))
                 .findById(request.getId());
         verify(itemRepository, times(1))
@@ -246,8 +239,8 @@ class RequestServiceTest {
 
     @Test
     void shouldReturnRequestByIncorrectUserId() {
-        when(userRepository.findById(FAKE_ID))
-                .thenThrow(new NotFoundException("User not found"));
+        doThrow(new NotFoundException("User not found"))
+                .when(userExistenceCache).requireExists(FAKE_ID);
 
         final NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> service.getRequestById(FAKE_ID, request.getId()));
@@ -257,8 +250,6 @@ class RequestServiceTest {
 
     @Test
     void shouldReturnRequestByIncorrectRequestId() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(requestRepository.findById(FAKE_ID))
                 .thenThrow(new NotFoundException("Request not found"));
 
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.user.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceCacheTest {
+    public static final long FAKE_ID = 99999L;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserExistenceCache cache;
+
+    @BeforeEach
+    void beforeEach() {
+        cache = new UserExistenceCache(userRepository, true);
+    }
+
+    @Test
+    void shouldLoadKnownIds() {
+        when(userRepository.findIdsAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L, 3L));
+
+        cache.load();
+
+        Assertions.assertEquals(3, cache.size());
+        Assertions.assertTrue(cache.exists(2L));
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void shouldAnswerAddedUserWithoutRepository() {
+        cache.add(1L);
+
+        cache.requireExists(1L);
+
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void shouldRememberUserFoundInRepository() {
+        when(userRepository.existsById(1L))
+                .thenReturn(true);
+
+        Assertions.assertTrue(cache.exists(1L));
+        Assertions.assertTrue(cache.exists(1L));
+
+        verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void shouldThrowForUnknownUser() {
+        when(userRepository.existsById(FAKE_ID))
+                .thenReturn(false);
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> cache.requireExists(FAKE_ID));
+
+        Assertions.assertEquals("User not found", exception.getMessage());
+    }
+
+    @Test
+    void shouldAlwaysAskRepositoryWhenDisabled() {
+        cache = new UserExistenceCache(userRepository, false);
+        cache.add(1L);
+
+        when(userRepository.existsById(1L))
+                .thenReturn(true);
+
+        Assertions.assertTrue(cache.exists(1L));
+        Assertions.assertTrue(cache.exists(1L));
+
+        verify(userRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    void shouldForgetRemovedUser() {
+        cache.add(1L);
+        cache.remove(1L);
+
+        Assertions.assertFalse(cache.exists(1L));
+        verify(userRepository, never()).existsById(1L);
+    }
+
+    @Test
+    void shouldNotReaddUserRemovedDuringLookup() {
+        when(userRepository.existsById(1L))
+                .thenAnswer(invocation -> {
+                    cache.remove(1L);
+                    return true;
+                });
+
+        cache.exists(1L);
+
+        Assertions.assertFalse(cache.exists(1L));
+        Assertions.assertEquals(0, cache.size());
+    }
+}
@@ -9,8 +9,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.counter.BookingCounterService;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemChangedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.UserExistenceCache;
 import ru.practicum.shareit.user.dto.UserDTO;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -18,6 +24,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -34,6 +41,21 @@ class UserServiceTest {
     @Mock
     private UserRepository repository;
 
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
+    @Mock
+    private BookingCounterService bookingCounterService;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService service;
 
@@ -268,6 +290,8 @@ class UserServiceTest {
     void shouldRemoveUserByIdAndCheckRepositoryMethodCalls() {
         when(repository.findById(user.getId()))
                 .thenReturn(Optional.ofNullable(user));
+        when(itemRepository.findIdsAffectedByUser(user.getId()))
+                .thenReturn(List.of(2L));
 
         service.removeUserById(user.getId());
 
@@ -275,6 +299,10 @@ class UserServiceTest {
                 .findById(user.getId());
         verify(repository, times(1))
                 .deleteById(user.getId());
+        verify(bookingCounterService, times(1))
+                .recount(Set.of());
+        verify(eventPublisher, times(1))
+                .publishEvent(any(ItemChangedEvent.class));
     }
 
     @Test